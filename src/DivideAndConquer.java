@@ -0,0 +1,161 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/*
+Reusable divide-and-conquer on top of RecursiveTask.
+A subclass only says how to measure, split, solve small pieces and combine results:
+
+  size(p)              -> how big is the problem
+  left(p) / right(p)   -> the two halves
+  solveSequentially(p) -> plain loop / recursion for small problems
+  combine(a, b)        -> merge the two half results
+
+Below the sequential cutoff, forking costs more than it saves. Instead of hard-coding a cutoff
+per algorithm, the first solve() times solveSequentially on smaller and smaller pieces of the
+real input and picks the smallest size that does about TARGET_LEAF_NANOS of work. Calibration
+stops after CALIBRATION_BUDGET_NANOS and settles for the piece it got to, so a problem whose
+pieces never reach the target doesn't get solved several times over before the real run.
+ */
+public abstract class DivideAndConquer<P, R> {
+
+    // A leaf should run long enough to hide the cost of fork/join (~100 microseconds)
+    private static final long TARGET_LEAF_NANOS = 100_000;
+
+    // Keep at least this many leaves per worker so idle workers have something to steal
+    private static final int LEAVES_PER_WORKER = 4;
+
+    // Upper bound on the time calibrate() spends timing pieces
+    private static final long CALIBRATION_BUDGET_NANOS = 20_000_000;
+
+    private final ForkJoinPool pool;
+    private volatile long threshold;
+
+    protected DivideAndConquer() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    protected DivideAndConquer(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    protected abstract long size(P problem);
+
+    protected abstract P left(P problem);
+
+    protected abstract P right(P problem);
+
+    protected abstract R solveSequentially(P problem);
+
+    protected abstract R combine(R left, R right);
+
+    public R solve(P problem) {
+        long cutoff = threshold;
+        if (cutoff == 0) {
+            cutoff = calibrate(problem);
+        }
+        // Even a good cutoff is useless if it leaves fewer leaves than workers
+        long minLeaves = (long) pool.getParallelism() * LEAVES_PER_WORKER;
+        cutoff = Math.max(1, Math.min(cutoff, size(problem) / minLeaves));
+        return pool.invoke(new Task(problem, cutoff));
+    }
+
+    // Skip calibration, e.g. when the caller already knows a good value
+    public void setThreshold(long threshold) {
+        if (threshold < 1) {
+            throw new IllegalArgumentException("threshold must be positive: " + threshold);
+        }
+        this.threshold = threshold;
+    }
+
+    public long getThreshold() {
+        return threshold;
+    }
+
+    // Times the left spine of the problem (size/2, size/4, ...) from smallest up
+    protected long calibrate(P sample) {
+        List<P> spine = new ArrayList<>();
+        P current = sample;
+        while (size(current) > 1) {
+            current = left(current);
+            spine.add(current);
+        }
+
+        long chosen = size(sample);
+        long deadline = System.nanoTime() + CALIBRATION_BUDGET_NANOS;
+        for (int i = spine.size() - 1; i >= 0; i--) {
+            P piece = spine.get(i);
+            // First runs are interpreted, keep the best of a few so the JIT has a chance.
+            // One run under the target already rules the piece out, later runs are only faster
+            long best = Long.MAX_VALUE;
+            for (int run = 0; run < 5 && best >= TARGET_LEAF_NANOS; run++) {
+                long startTime = System.nanoTime();
+                solveSequentially(piece);
+                best = Math.min(best, System.nanoTime() - startTime);
+            }
+            if (best >= TARGET_LEAF_NANOS || System.nanoTime() - deadline > 0) {
+                chosen = size(piece);
+                break;
+            }
+        }
+        threshold = chosen;
+        return chosen;
+    }
+
+    private class Task extends RecursiveTask<R> {
+        private static final long serialVersionUID = 1L;
+
+        // Tasks are never serialized, the problem type doesn't have to be Serializable
+        private final transient P problem;
+        private final long cutoff;
+
+        Task(P problem, long cutoff) {
+            this.problem = problem;
+            this.cutoff = cutoff;
+        }
+
+        @Override
+        protected R compute() {
+            if (size(problem) <= cutoff) {
+                return solveSequentially(problem);
+            }
+            Task leftTask = new Task(left(problem), cutoff);
+            Task rightTask = new Task(right(problem), cutoff);
+            leftTask.fork();                    // left half goes to another worker
+            R rightResult = rightTask.compute(); // current thread keeps the right half
+            return combine(leftTask.join(), rightResult);
+        }
+    }
+
+    // Half-open range [lo, hi), the problem type for most index based algorithms
+    public static class Range {
+        public final long lo;
+        public final long hi;
+
+        public Range(long lo, long hi) {
+            if (hi < lo) {
+                throw new IllegalArgumentException("Invalid range [" + lo + ", " + hi + ")");
+            }
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        public long size() {
+            return hi - lo;
+        }
+
+        public Range left() {
+            return new Range(lo, lo + (hi - lo) / 2);
+        }
+
+        public Range right() {
+            return new Range(lo + (hi - lo) / 2, hi);
+        }
+
+        @Override
+        public String toString() {
+            return "[" + lo + ", " + hi + ")";
+        }
+    }
+}
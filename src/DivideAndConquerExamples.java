@@ -0,0 +1,148 @@
+import java.math.BigInteger;
+import java.util.Random;
+
+// Multiplies every number in the range: factorial(n) is the range [2, n + 1)
+class FactorialDivideAndConquer extends DivideAndConquer<DivideAndConquer.Range, BigInteger> {
+
+    public BigInteger factorial(int n) {
+        // Input validation
+        if (n < 0) {
+            throw new IllegalArgumentException("Factorial is not defined for negative numbers.");
+        }
+        return n < 2 ? BigInteger.ONE : solve(new Range(2, n + 1L));
+    }
+
+    @Override
+    protected long size(Range problem) { return problem.size(); }
+
+    @Override
+    protected Range left(Range problem) { return problem.left(); }
+
+    @Override
+    protected Range right(Range problem) { return problem.right(); }
+
+    @Override
+    protected BigInteger solveSequentially(Range problem) {
+        return problem.size() == 0 ? BigInteger.ONE : ParallelFactorial.product(problem.lo, problem.hi - 1);
+    }
+
+    @Override
+    protected BigInteger combine(BigInteger left, BigInteger right) { return left.multiply(right); }
+}
+
+/*
+Fibonacci by matrix: [[1,1],[1,0]]^n = [[F(n+1), F(n)], [F(n), F(n-1)]].
+The range [lo, hi) stands for the factors Q^lo ... Q^(hi-1), i.e. Q^(hi-lo).
+Leaves walk the recurrence, halves are glued with one 2x2 matrix multiply.
+ */
+class FibonacciDivideAndConquer extends DivideAndConquer<DivideAndConquer.Range, BigInteger[]> {
+
+    public BigInteger fibonacci(int n) {
+        if (n < 0) {
+            throw new IllegalArgumentException("Fibonacci is not defined for negative numbers.");
+        }
+        return n == 0 ? BigInteger.ZERO : solve(new Range(0, n))[1];
+    }
+
+    @Override
+    protected long size(Range problem) { return problem.size(); }
+
+    @Override
+    protected Range left(Range problem) { return problem.left(); }
+
+    @Override
+    protected Range right(Range problem) { return problem.right(); }
+
+    // Matrix stored row by row as {a, b, c, d}
+    @Override
+    protected BigInteger[] solveSequentially(Range problem) {
+        BigInteger a = BigInteger.ONE;  // F(k+1)
+        BigInteger b = BigInteger.ZERO; // F(k)
+        for (long i = 0; i < problem.size(); i++) {
+            BigInteger next = a.add(b);
+            b = a;
+            a = next;
+        }
+        return new BigInteger[]{a, b, b, a.subtract(b)};
+    }
+
+    @Override
+    protected BigInteger[] combine(BigInteger[] x, BigInteger[] y) {
+        return new BigInteger[]{
+                x[0].multiply(y[0]).add(x[1].multiply(y[2])),
+                x[0].multiply(y[1]).add(x[1].multiply(y[3])),
+                x[2].multiply(y[0]).add(x[3].multiply(y[2])),
+                x[2].multiply(y[1]).add(x[3].multiply(y[3]))
+        };
+    }
+}
+
+// Sums a long[] by index range; results are one-element long[] so leaves and combines don't box
+class ArraySumDivideAndConquer extends DivideAndConquer<DivideAndConquer.Range, long[]> {
+    private final long[] data;
+
+    public ArraySumDivideAndConquer(long[] data) {
+        this.data = data;
+    }
+
+    public long sum() {
+        return solve(new Range(0, data.length))[0];
+    }
+
+    @Override
+    protected long size(Range problem) { return problem.size(); }
+
+    @Override
+    protected Range left(Range problem) { return problem.left(); }
+
+    @Override
+    protected Range right(Range problem) { return problem.right(); }
+
+    @Override
+    protected long[] solveSequentially(Range problem) {
+        long sum = 0;
+        for (int i = (int) problem.lo; i < problem.hi; i++) {
+            sum += data[i];
+        }
+        return new long[]{sum};
+    }
+
+    @Override
+    protected long[] combine(long[] left, long[] right) {
+        left[0] += right[0];
+        return left;
+    }
+}
+
+public class DivideAndConquerExamples {
+
+    public static void main(String[] args) {
+        FactorialDivideAndConquer factorial = new FactorialDivideAndConquer();
+        long startTime = System.nanoTime();
+        BigInteger fact = factorial.factorial(200_000);
+        System.out.println("200000! bits: " + fact.bitLength() + " in " + (System.nanoTime() - startTime) / 1_000_000
+                + " ms, cutoff " + factorial.getThreshold());
+        System.out.println("Matches ParallelFactorial: " + fact.equals(ParallelFactorial.factorial(200_000)));
+
+        FibonacciDivideAndConquer fibonacci = new FibonacciDivideAndConquer();
+        System.out.println("F(90) = " + fibonacci.fibonacci(90)); // 2880067194370816120
+        startTime = System.nanoTime();
+        BigInteger fib = fibonacci.fibonacci(1_000_000);
+        System.out.println("F(1000000) bits: " + fib.bitLength() + " in " + (System.nanoTime() - startTime) / 1_000_000
+                + " ms, cutoff " + fibonacci.getThreshold());
+
+        long[] data = new Random(42).longs(50_000_000, 0, 1000).toArray();
+        ArraySumDivideAndConquer arraySum = new ArraySumDivideAndConquer(data);
+        startTime = System.nanoTime();
+        long sum = arraySum.sum();
+        System.out.println("Array sum: " + sum + " in " + (System.nanoTime() - startTime) / 1_000_000
+                + " ms, cutoff " + arraySum.getThreshold());
+
+        long expected = 0;
+        startTime = System.nanoTime();
+        for (long value : data) {
+            expected += value;
+        }
+        System.out.println("Serial sum: " + expected + " in " + (System.nanoTime() - startTime) / 1_000_000 + " ms");
+    }
+}
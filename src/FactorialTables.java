@@ -0,0 +1,191 @@
+import java.math.BigInteger;
+
+public class FactorialTables {
+
+    // 20! is the largest factorial that fits in a long
+    public static final int MAX_FACTORIAL = 20;
+
+    // C(66, 33) is the largest middle binomial that fits in a long, so every row up to 66 fits
+    public static final int MAX_BINOMIAL_ROW = 66;
+
+    private static final long[] FACTORIALS = new long[MAX_FACTORIAL + 1];
+    private static final long[][] BINOMIALS = new long[MAX_BINOMIAL_ROW + 1][];
+
+    static {
+        FACTORIALS[0] = 1;
+        for (int i = 1; i <= MAX_FACTORIAL; i++) {
+            FACTORIALS[i] = FACTORIALS[i - 1] * i;
+        }
+
+        // Pascal's triangle, each row only as long as it needs to be
+        for (int n = 0; n <= MAX_BINOMIAL_ROW; n++) {
+            BINOMIALS[n] = new long[n + 1];
+            BINOMIALS[n][0] = 1;
+            BINOMIALS[n][n] = 1;
+            for (int k = 1; k < n; k++) {
+                BINOMIALS[n][k] = BINOMIALS[n - 1][k - 1] + BINOMIALS[n - 1][k];
+            }
+        }
+    }
+
+    // O(1) factorial, throws instead of silently wrapping like int math does
+    public static long factorial(int n) {
+        // Input validation
+        if (n < 0) {
+            throw new IllegalArgumentException("Factorial is not defined for negative numbers.");
+        }
+        if (n > MAX_FACTORIAL) {
+            throw new ArithmeticException("long overflow: " + n + "! does not fit in a long");
+        }
+        return FACTORIALS[n];
+    }
+
+    // n choose k, table lookup for small n and overflow-checked multiplication above that
+    public static long binomial(int n, int k) {
+        if (n < 0 || k < 0 || k > n) {
+            throw new IllegalArgumentException("Binomial is not defined for n=" + n + ", k=" + k);
+        }
+        if (n <= MAX_BINOMIAL_ROW) {
+            return BINOMIALS[n][k];
+        }
+        k = Math.min(k, n - k);
+        long result = 1;
+        for (int i = 1; i <= k; i++) {
+            // result * (n - k + i) / i is always a whole number; dividing the gcd out first
+            // keeps the intermediate value as small as the final answer allows
+            long g = gcd(result, i);
+            long factor = (n - k + i) / (i / g);
+            try {
+                result = Math.multiplyExact(result / g, factor);
+            } catch (ArithmeticException ex) {
+                throw new ArithmeticException("long overflow: C(" + n + ", " + k + ") does not fit in a long");
+            }
+        }
+        return result;
+    }
+
+    private static long gcd(long a, long b) {
+        while (b != 0) {
+            long t = a % b;
+            a = b;
+            b = t;
+        }
+        return a;
+    }
+
+    /*
+    nCr mod p for n up to maxN, where p is a prime bigger than maxN.
+    Building the tables costs O(maxN) once, after that every query is two multiplies.
+    p has to be prime: the inverse factorials come from Fermat's little theorem, which gives
+    wrong inverses for a composite p, so the constructor checks it.
+     */
+    public static class ModBinomial {
+        private final long p;
+        private final long[] fact;
+        private final long[] invFact;
+
+        public ModBinomial(int maxN, long p) {
+            if (maxN < 0) {
+                throw new IllegalArgumentException("maxN must not be negative: " + maxN);
+            }
+            // p must be above maxN so no factorial is 0 mod p, and below 2^31 so a*b fits in a long
+            if (p <= maxN || p > Integer.MAX_VALUE || !BigInteger.valueOf(p).isProbablePrime(50)) {
+                throw new IllegalArgumentException("p must be a prime in (" + maxN + ", " + Integer.MAX_VALUE + "]: " + p);
+            }
+            this.p = p;
+            fact = new long[maxN + 1];
+            invFact = new long[maxN + 1];
+
+            fact[0] = 1;
+            for (int i = 1; i <= maxN; i++) {
+                fact[i] = fact[i - 1] * i % p;
+            }
+            // Fermat's little theorem gives one inverse, the rest walk down from it
+            invFact[maxN] = pow(fact[maxN], p - 2);
+            for (int i = maxN; i > 0; i--) {
+                invFact[i - 1] = invFact[i] * i % p;
+            }
+        }
+
+        // n! mod p
+        public long factorial(int n) {
+            checkN(n);
+            return fact[n];
+        }
+
+        public long nCr(int n, int r) {
+            checkN(n);
+            if (r < 0 || r > n) {
+                return 0;
+            }
+            return fact[n] * invFact[r] % p * invFact[n - r] % p;
+        }
+
+        private void checkN(int n) {
+            if (n < 0 || n >= fact.length) {
+                throw new IllegalArgumentException("n out of range [0, " + (fact.length - 1) + "]: " + n);
+            }
+        }
+
+        private long pow(long base, long exp) {
+            long result = 1;
+            base %= p;
+            while (exp > 0) {
+                if ((exp & 1) == 1) {
+                    result = result * base % p;
+                }
+                base = base * base % p;
+                exp >>= 1;
+            }
+            return result;
+        }
+    }
+
+    public static void main(String[] args) {
+        int calls = 50_000_000;
+        long sink = 0;
+
+        // Warm up so the JIT has compiled everything before we time it
+        for (int i = 0; i < calls; i++) {
+            sink += Recursion.factorialIterative(i & 15) + Recursion.factorialRecursive(i & 15) + factorial(i & 15);
+        }
+
+        long startTime = System.nanoTime();
+        for (int i = 0; i < calls; i++) {
+            sink += Recursion.factorialRecursive(i & 15);
+        }
+        System.out.println("Recursion.factorialRecursive: " + (System.nanoTime() - startTime) / 1_000_000 + " ms");
+
+        startTime = System.nanoTime();
+        for (int i = 0; i < calls; i++) {
+            sink += Recursion.factorialIterative(i & 15);
+        }
+        System.out.println("Recursion.factorialIterative: " + (System.nanoTime() - startTime) / 1_000_000 + " ms");
+
+        startTime = System.nanoTime();
+        for (int i = 0; i < calls; i++) {
+            sink += factorial(i & 15);
+        }
+        System.out.println("FactorialTables.factorial:    " + (System.nanoTime() - startTime) / 1_000_000 + " ms");
+        System.out.println("(ignore) " + sink);
+
+        // int math wraps silently, the table refuses
+        System.out.println("Recursion.factorialIterative(13) = " + Recursion.factorialIterative(13) + " (wrong, real value is " + factorial(13) + ")");
+        try {
+            factorial(21);
+        } catch (ArithmeticException ex) {
+            System.out.println(ex.getMessage());
+        }
+
+        System.out.println("C(100, 50) overflow check: ");
+        try {
+            binomial(100, 50);
+        } catch (ArithmeticException ex) {
+            System.out.println("  " + ex.getMessage());
+        }
+        System.out.println("C(100, 10) = " + binomial(100, 10));
+
+        ModBinomial mod = new ModBinomial(1_000_000, 1_000_000_007L);
+        System.out.println("C(1000000, 500000) mod 1e9+7 = " + mod.nCr(1_000_000, 500_000));
+    }
+}
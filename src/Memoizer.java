@@ -0,0 +1,249 @@
+import java.math.BigInteger;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/*
+Thread-safe memoization for recursive functions.
+
+Why not map.computeIfAbsent(key, k -> f(k))? f would call computeIfAbsent again on the same map
+while the bin is locked, which ConcurrentHashMap forbids (IllegalStateException, or a hang).
+Here the map only holds a CompletableFuture per key and the function runs outside any lock:
+
+  1. the first thread to putIfAbsent a future for a key computes it
+  2. other threads asking for the same key wait on that future instead of computing it again
+  3. the function gets a "self" reference, so it can recurse through the cache
+
+Memory is bounded by a weight budget (weight 1 per entry = max entry count).
+Eviction uses CLOCK: every hit marks the entry, the evictor gives marked entries a second chance.
+ */
+public class Memoizer<K, V> {
+
+    // The recursive function, calls self.apply(...) instead of calling itself directly
+    public interface RecursiveFunction<K, V> {
+        V apply(K key, Function<K, V> self);
+    }
+
+    public interface Weigher<K, V> {
+        long weigh(K key, V value);
+    }
+
+    private final RecursiveFunction<K, V> function;
+    private final Weigher<K, V> weigher;
+    private final long maxWeight;
+
+    private final ConcurrentHashMap<K, Entry<K, V>> map = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<Entry<K, V>> clock = new ConcurrentLinkedQueue<>();
+    private final AtomicLong totalWeight = new AtomicLong();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+
+    // Keys this thread is computing right now, to catch f(k) -> ... -> f(k) cycles
+    private final ThreadLocal<Set<K>> inProgress = ThreadLocal.withInitial(HashSet::new);
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder inFlightWaits = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public Memoizer(RecursiveFunction<K, V> function, Weigher<K, V> weigher, long maxWeight) {
+        if (maxWeight < 1) {
+            throw new IllegalArgumentException("maxWeight must be positive: " + maxWeight);
+        }
+        this.function = function;
+        this.weigher = weigher;
+        this.maxWeight = maxWeight;
+    }
+
+    // Bounded by number of entries
+    public static <K, V> Memoizer<K, V> bySize(RecursiveFunction<K, V> function, long maxEntries) {
+        return new Memoizer<>(function, (key, value) -> 1, maxEntries);
+    }
+
+    // Bounded by total weight, e.g. bytes of the cached values
+    public static <K, V> Memoizer<K, V> byWeight(RecursiveFunction<K, V> function, Weigher<K, V> weigher, long maxWeight) {
+        return new Memoizer<>(function, weigher, maxWeight);
+    }
+
+    public V get(K key) {
+        Entry<K, V> entry = map.get(key);
+        if (entry != null) {
+            return awaitExisting(entry);
+        }
+
+        Set<K> mine = inProgress.get();
+        if (mine.contains(key)) {
+            throw new IllegalStateException("Recursive cycle while computing key: " + key);
+        }
+
+        Entry<K, V> created = new Entry<>(key);
+        entry = map.putIfAbsent(key, created);
+        if (entry != null) {
+            return awaitExisting(entry); // someone beat us to it
+        }
+
+        misses.increment();
+        V value;
+        mine.add(key);
+        try {
+            value = function.apply(key, this::get);
+            // Inside the try: if the weigher throws, waiters must be released too
+            created.weight = weigher.weigh(key, value);
+        } catch (RuntimeException | Error ex) {
+            // Don't cache failures, let the next caller retry
+            map.remove(key, created);
+            created.future.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            mine.remove(key);
+        }
+
+        created.future.complete(value);
+        clock.add(created);
+        totalWeight.addAndGet(created.weight);
+        evictIfNeeded();
+        return value;
+    }
+
+    private V awaitExisting(Entry<K, V> entry) {
+        entry.referenced = true;
+        if (entry.future.isDone()) {
+            hits.increment();
+        } else {
+            inFlightWaits.increment();
+        }
+        try {
+            return entry.future.join();
+        } catch (CompletionException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw ex;
+        }
+    }
+
+    private void evictIfNeeded() {
+        if (totalWeight.get() <= maxWeight || !evictionLock.tryLock()) {
+            return; // under budget, or another thread is already evicting
+        }
+        try {
+            // Every entry gets at most one second chance per pass, so this always ends
+            int secondChances = clock.size();
+            while (totalWeight.get() > maxWeight) {
+                Entry<K, V> victim = clock.poll();
+                if (victim == null) {
+                    break;
+                }
+                if (victim.referenced && secondChances-- > 0) {
+                    victim.referenced = false;
+                    clock.add(victim);
+                    continue;
+                }
+                if (map.remove(victim.key, victim)) {
+                    totalWeight.addAndGet(-victim.weight);
+                    evictions.increment();
+                }
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    public void clear() {
+        map.clear();
+        clock.clear();
+        totalWeight.set(0);
+    }
+
+    public long size() {
+        return map.size();
+    }
+
+    public long weight() {
+        return totalWeight.get();
+    }
+
+    public Stats stats() {
+        return new Stats(hits.sum(), misses.sum(), inFlightWaits.sum(), evictions.sum());
+    }
+
+    private static final class Entry<K, V> {
+        final K key;
+        final CompletableFuture<V> future = new CompletableFuture<>();
+        volatile boolean referenced;
+        long weight; // written before the entry is published to the clock queue
+
+        Entry(K key) {
+            this.key = key;
+        }
+    }
+
+    public static final class Stats {
+        public final long hits;
+        public final long misses;
+        public final long inFlightWaits; // waited on another thread's computation instead of redoing it
+        public final long evictions;
+
+        Stats(long hits, long misses, long inFlightWaits, long evictions) {
+            this.hits = hits;
+            this.misses = misses;
+            this.inFlightWaits = inFlightWaits;
+            this.evictions = evictions;
+        }
+
+        public double hitRate() {
+            long requests = hits + misses + inFlightWaits;
+            return requests == 0 ? 0 : (double) (hits + inFlightWaits) / requests;
+        }
+
+        @Override
+        public String toString() {
+            return "hits=" + hits + ", misses=" + misses + ", inFlightWaits=" + inFlightWaits
+                    + ", evictions=" + evictions + ", hitRate=" + String.format("%.3f", hitRate());
+        }
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        // Plain recursive fibonacci is exponential, memoized it is linear
+        Memoizer<Integer, BigInteger> fib = Memoizer.bySize((n, self) ->
+                n < 2 ? BigInteger.valueOf(n) : self.apply(n - 1).add(self.apply(n - 2)), 10_000);
+
+        System.out.println("fib(90) = " + fib.get(90)); // 2880067194370816120
+        System.out.println(fib.stats());
+
+        // Many threads asking for overlapping keys, each key is still computed once
+        Thread[] threads = new Thread[8];
+        for (int t = 0; t < threads.length; t++) {
+            int offset = t * 100;
+            threads[t] = new Thread(() -> {
+                for (int n = 100; n < 1000; n += 10) {
+                    fib.get(n + offset % 300);
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        System.out.println("After concurrent callers: size=" + fib.size() + ", " + fib.stats());
+
+        // Weight bound: keep at most ~64 KB of factorial digits around
+        Memoizer<Integer, BigInteger> fact = Memoizer.byWeight((n, self) ->
+                        n < 2 ? BigInteger.ONE : self.apply(n - 1).multiply(BigInteger.valueOf(n)),
+                (n, value) -> value.bitLength() / 8 + 16, 64 * 1024);
+        for (int n = 0; n <= 1000; n += 50) {
+            fact.get(n);
+        }
+        System.out.println("Factorial cache weight=" + fact.weight() + " bytes, size=" + fact.size() + ", " + fact.stats());
+    }
+}
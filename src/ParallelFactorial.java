@@ -0,0 +1,118 @@
+import java.math.BigInteger;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+public class ParallelFactorial {
+
+    // Ranges with fewer factors than this are multiplied on the current thread
+    private static final int SEQUENTIAL_THRESHOLD = 4096;
+
+    // Exact factorial using the common ForkJoin pool
+    public static BigInteger factorial(int n) {
+        return factorial(n, ForkJoinPool.commonPool());
+    }
+
+    // Exact factorial using the given pool
+    public static BigInteger factorial(int n, ForkJoinPool pool) {
+        // Input validation
+        if (n < 0) {
+            throw new IllegalArgumentException("Factorial is not defined for negative numbers.");
+        }
+        if (n < 2) {
+            return BigInteger.ONE;
+        }
+        return pool.invoke(new ProductTask(2, n));
+    }
+
+    // Single threaded product tree, still much faster than the naive loop for large n
+    public static BigInteger factorialSequential(int n) {
+        if (n < 0) {
+            throw new IllegalArgumentException("Factorial is not defined for negative numbers.");
+        }
+        if (n < 2) {
+            return BigInteger.ONE;
+        }
+        return product(2, n);
+    }
+
+    /*
+    Multiplies every number in [lo, hi] by splitting the range in halves.
+    Both sides of each multiply are then about the same size, so BigInteger can use
+    Karatsuba / Toom-Cook instead of the schoolbook multiply that a running product hits
+    (a huge number times a tiny one every step => quadratic overall).
+     */
+    static BigInteger product(long lo, long hi) {
+        if (hi - lo < 16) {
+            return leafProduct(lo, hi);
+        }
+        long mid = (lo + hi) >>> 1;
+        return product(lo, mid).multiply(product(mid + 1, hi));
+    }
+
+    // Multiplies small ranges in a long as long as it can't overflow, then moves to BigInteger
+    private static BigInteger leafProduct(long lo, long hi) {
+        BigInteger result = BigInteger.ONE;
+        long acc = 1;
+        for (long i = lo; i <= hi; i++) {
+            if (acc > Long.MAX_VALUE / i) {
+                result = result.multiply(BigInteger.valueOf(acc));
+                acc = 1;
+            }
+            acc *= i;
+        }
+        return result.multiply(BigInteger.valueOf(acc));
+    }
+
+    static class ProductTask extends RecursiveTask<BigInteger> {
+        private static final long serialVersionUID = 1L;
+
+        private final long lo;
+        private final long hi;
+
+        ProductTask(long lo, long hi) {
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        @Override
+        protected BigInteger compute() {
+            if (hi - lo < SEQUENTIAL_THRESHOLD) {
+                return product(lo, hi);
+            }
+            long mid = (lo + hi) >>> 1;
+            ProductTask left = new ProductTask(lo, mid);
+            ProductTask right = new ProductTask(mid + 1, hi);
+            left.fork();                        // left half goes to another worker
+            BigInteger rightResult = right.compute(); // current thread keeps the right half
+            return left.join().multiply(rightResult);
+        }
+    }
+
+    // Old way: running product, for comparison only
+    private static BigInteger naiveFactorial(int n) {
+        BigInteger result = BigInteger.ONE;
+        for (int i = 2; i <= n; i++) {
+            result = result.multiply(BigInteger.valueOf(i));
+        }
+        return result;
+    }
+
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+
+        long startTime = System.nanoTime();
+        BigInteger naive = naiveFactorial(n);
+        System.out.println("Naive loop:        " + (System.nanoTime() - startTime) / 1_000_000 + " ms");
+
+        startTime = System.nanoTime();
+        BigInteger sequential = factorialSequential(n);
+        System.out.println("Product tree:      " + (System.nanoTime() - startTime) / 1_000_000 + " ms");
+
+        startTime = System.nanoTime();
+        BigInteger parallel = factorial(n);
+        System.out.println("Parallel tree:     " + (System.nanoTime() - startTime) / 1_000_000 + " ms");
+
+        System.out.println("Results match: " + (naive.equals(sequential) && naive.equals(parallel)));
+        System.out.println(n + "! has " + parallel.bitLength() + " bits");
+    }
+}
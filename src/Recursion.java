@@ -29,6 +29,26 @@ public class Recursion {
         return result;
     }
 
+    // Same recursion as factorialRecursive, but run on a Trampoline so depth is not limited by the stack
+    public static int factorialTrampolined(int n) {
+        // Input validation
+        if (n < 0) {
+            throw new IllegalArgumentException("Factorial is not defined for negative numbers.");
+        }
+        return factorialTail(n, 1).run();
+    }
+
+    // Tail-recursive form: the multiplication is carried in acc, so nothing is left to do after the call
+    private static Trampoline<Integer> factorialTail(int n, int acc) {
+        // Base case
+        if (n == 0 || n == 1) {
+            return Trampoline.done(acc);
+        }
+
+        // Recursive case, returned instead of called
+        return Trampoline.more(() -> factorialTail(n - 1, acc * n));
+    }
+
     public static void main(String[] args) {
         int n = 6;
 
@@ -37,6 +57,16 @@ public class Recursion {
 
         // Test factorial using iteration
         System.out.println("Iterative Factorial of " + n + ": " + factorialIterative(n));
+
+        // Test factorial using a trampoline
+        System.out.println("Trampolined Factorial of " + n + ": " + factorialTrampolined(n));
+
+        // factorialRecursive(10_000_000) would throw StackOverflowError, the trampoline just loops
+        // (the int result has long since overflowed, the point here is the depth)
+        int depth = 10_000_000;
+        long startTime = System.nanoTime();
+        factorialTrampolined(depth);
+        System.out.println("Trampolined depth " + depth + ": " + (System.nanoTime() - startTime) / 1_000_000 + " ms");
     }
 }
 
@@ -68,6 +98,8 @@ Impact:
 
 3. Function Call Optimizations**
 - **Tail-Recursion**: In some languages, compilers optimize certain recursive calls (tail-recursion) into iteration-like performance. However, Java does **not** perform tail-recursion optimization, meaning recursion remains less efficient compared to iteration.
+- **Trampolines**: We can do it by hand. `factorialTrampolined` returns the next call instead of making it, and `Trampoline.run()`
+  loops over those steps, so the depth lives on the heap and never hits `StackOverflowError`.
 
 
 4. Memory Usage
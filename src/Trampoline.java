@@ -0,0 +1,165 @@
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/*
+Java has no tail-call optimisation, so every recursive call costs a stack frame and deep
+recursion ends in StackOverflowError. A trampoline turns "call myself" into "return a
+description of the next step", and a loop in run() keeps bouncing until it gets a result.
+The depth then lives on the heap instead of the 1 MB thread stack.
+
+  done(value)  -> recursion finished
+  more(() -> ) -> tail call, the next step
+  flatMap(f)   -> non-tail call, "when that finishes, continue with f", kept on a heap stack
+
+Not free: every step allocates a Supplier or continuation and boxes its value, so a non-tail
+recursion is far slower than a loop (sum(10_000_000) below: a few seconds against well under
+100 ms). Tail calls like factorialTrampolined are cheaper, they don't touch the continuation stack.
+For a hot recursion, write the explicit stack by hand with LongStack: push what each level still
+needs after its recursive call, then unwind with pop() (see sumExplicitStack).
+ */
+public abstract class Trampoline<T> {
+
+    private Trampoline() {
+    }
+
+    public static <T> Trampoline<T> done(T value) {
+        return new Done<>(value);
+    }
+
+    public static <T> Trampoline<T> more(Supplier<Trampoline<T>> next) {
+        return new More<>(next);
+    }
+
+    public <R> Trampoline<R> flatMap(Function<? super T, Trampoline<R>> next) {
+        return new FlatMap<>(this, next);
+    }
+
+    public <R> Trampoline<R> map(Function<? super T, R> mapper) {
+        return flatMap(value -> done(mapper.apply(value)));
+    }
+
+    // Runs every step in a loop on the current thread, using constant Java stack
+    @SuppressWarnings("unchecked")
+    public T run() {
+        Trampoline<Object> current = (Trampoline<Object>) this;
+        Deque<Function<Object, Trampoline<Object>>> continuations = new ArrayDeque<>();
+
+        while (true) {
+            if (current instanceof Done) {
+                Object value = ((Done<Object>) current).value;
+                if (continuations.isEmpty()) {
+                    return (T) value;
+                }
+                current = continuations.pop().apply(value);
+            } else if (current instanceof More) {
+                current = ((More<Object>) current).next.get();
+            } else {
+                FlatMap<Object, Object> flatMap = (FlatMap<Object, Object>) current;
+                continuations.push(flatMap.next);
+                current = flatMap.source;
+            }
+        }
+    }
+
+    private static final class Done<T> extends Trampoline<T> {
+        private final T value;
+
+        Done(T value) {
+            this.value = value;
+        }
+    }
+
+    private static final class More<T> extends Trampoline<T> {
+        private final Supplier<Trampoline<T>> next;
+
+        More(Supplier<Trampoline<T>> next) {
+            this.next = next;
+        }
+    }
+
+    private static final class FlatMap<S, T> extends Trampoline<T> {
+        private final Trampoline<S> source;
+        private final Function<? super S, Trampoline<T>> next;
+
+        FlatMap(Trampoline<S> source, Function<? super S, Trampoline<T>> next) {
+            this.source = source;
+            this.next = next;
+        }
+    }
+
+    // Non-tail recursion example: sum(n) = n + sum(n - 1), the addition happens after the call returns
+    static Trampoline<Long> sum(long n) {
+        if (n == 0) {
+            return done(0L);
+        }
+        return more(() -> sum(n - 1)).map(rest -> rest + n);
+    }
+
+    // Same recursion with a hand-written primitive stack: calling pushes n, returning adds it
+    static long sumExplicitStack(long n) {
+        LongStack pending = new LongStack();
+        for (long level = n; level > 0; level--) {
+            pending.push(level); // sum(level) calls sum(level - 1), remembers level for later
+        }
+        long result = 0; // sum(0)
+        while (!pending.isEmpty()) {
+            result += pending.pop(); // back in sum(level): rest + level
+        }
+        return result;
+    }
+
+    static long sumIterative(long n) {
+        long result = 0;
+        for (long i = 1; i <= n; i++) {
+            result += i;
+        }
+        return result;
+    }
+
+    // Growable stack of primitive longs, 8 bytes per level and no object per frame
+    public static final class LongStack {
+        private long[] values = new long[16];
+        private int size;
+
+        public void push(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        public long pop() {
+            if (size == 0) {
+                throw new NoSuchElementException("stack is empty");
+            }
+            return values[--size];
+        }
+
+        public boolean isEmpty() {
+            return size == 0;
+        }
+    }
+
+    public static void main(String[] args) {
+        int depth = 10_000_000;
+
+        for (int round = 0; round < 3; round++) {
+            long startTime = System.nanoTime();
+            long trampolined = sum(depth).run();
+            long trampolineMs = (System.nanoTime() - startTime) / 1_000_000;
+            startTime = System.nanoTime();
+            long explicitStack = sumExplicitStack(depth);
+            long explicitStackMs = (System.nanoTime() - startTime) / 1_000_000;
+            startTime = System.nanoTime();
+            long iterative = sumIterative(depth);
+            long iterativeMs = (System.nanoTime() - startTime) / 1_000_000;
+            System.out.println("sum(" + depth + ") = " + trampolined + ": trampoline " + trampolineMs + " ms, explicit stack "
+                    + explicitStackMs + " ms, loop " + iterativeMs + " ms, all equal: "
+                    + (trampolined == explicitStack && explicitStack == iterative));
+        }
+    }
+}
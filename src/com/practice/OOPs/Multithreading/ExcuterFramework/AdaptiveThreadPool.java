@@ -0,0 +1,264 @@
+package com.practice.OOPs.Multthreading.ExcuterFramework;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+Thread pool that picks its own size between min and max instead of newFixedThreadPool(9).
+Call start() once constructed to begin resizing.
+
+Every interval a controller thread looks at completed tasks per second and does hill climbing:
+  - throughput went up noticeably -> keep moving the size in the same direction
+  - throughput went down          -> turn around
+  - about the same                -> shrink, extra threads that don't add throughput only cost memory
+Blocking tasks keep getting faster with more threads, so the pool grows; CPU-bound tasks stop
+improving once every core is busy, so it drifts back down.
+
+Raw per-interval throughput is noisy enough to push the size around on its own, so:
+  - throughput is an exponentially weighted moving average, and a move is judged by comparing
+    it with the average from just before that move, after one interval for it to settle
+  - growing needs a backlog: by Little's law queued / throughput is how long a new task waits,
+    if that is under one interval the threads already keep up and more would not help
+  - once the workers keep every core busy, more threads only queue for a core (Little's law again,
+    the work in progress grows but the rate out doesn't), so the pool shrinks towards the core
+    count instead of climbing; the climbing is left for when the threads spend time blocked
+  - hysteresis: the same decision has to come out CONFIRMATIONS intervals in a row before the
+    size changes
+If the queue is empty and threads sit idle there is nothing to learn, it shrinks to what is in use.
+ */
+public class AdaptiveThreadPool extends ThreadPoolExecutor {
+
+    // Throughput has to change by more than this to count as better, filters out noise
+    private static final double IMPROVEMENT = 0.05;
+    // Weight of the newest interval in the throughput average
+    private static final double ALPHA = 0.5;
+    private static final int CONFIRMATIONS = 2;
+    // Share of all cores the workers use above which the CPU counts as saturated
+    private static final double SATURATED = 0.9;
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    private final int minThreads;
+    private final int maxThreads;
+    private final int step;
+    private final long intervalNanos;
+    private final ScheduledExecutorService controller;
+    private final LongAdder completed = new LongAdder();
+    private final Set<Thread> workers = ConcurrentHashMap.newKeySet();
+    private final int cores = Runtime.getRuntime().availableProcessors();
+
+    private volatile double throughput = -1; // moving average, tasks per second, read by throughput()
+    private double cpuBusy;           // moving average, CPU time of the workers / (interval * cores)
+    private final Map<Thread, Long> lastCpuTime = new HashMap<>(); // controller thread only
+    private double beforeLastMove;    // the average when the size last changed
+    private int direction = 1;
+    private int settling;             // intervals left before the last move can be judged
+    private int pendingTarget = -1;   // hysteresis: the size the last decisions asked for
+    private int streak;
+    private boolean started;
+
+    public AdaptiveThreadPool(int minThreads, int maxThreads, Duration interval) {
+        super(minThreads, minThreads, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), namedThreads("adaptive-pool"));
+        if (minThreads < 1 || maxThreads < minThreads) {
+            throw new IllegalArgumentException("Need 1 <= minThreads <= maxThreads, got " + minThreads + ", " + maxThreads);
+        }
+        this.minThreads = minThreads;
+        this.maxThreads = maxThreads;
+        this.step = Math.max(1, (maxThreads - minThreads) / 16);
+        this.intervalNanos = interval.toNanos();
+        this.controller = Executors.newSingleThreadScheduledExecutor(namedThreads("adaptive-pool-controller"));
+    }
+
+    // Starts the controller; kept out of the constructor so it never sees a half-built pool
+    public synchronized AdaptiveThreadPool start() {
+        if (!started) {
+            started = true;
+            controller.scheduleAtFixedRate(this::adjust, intervalNanos, intervalNanos, TimeUnit.NANOSECONDS);
+        }
+        return this;
+    }
+
+    private static ThreadFactory namedThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return task -> {
+            Thread thread = new Thread(task, prefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    @Override
+    protected void beforeExecute(Thread t, Runnable r) {
+        super.beforeExecute(t, r);
+        workers.add(t);
+    }
+
+    @Override
+    protected void afterExecute(Runnable r, Throwable t) {
+        super.afterExecute(r, t);
+        completed.increment();
+    }
+
+    private void adjust() {
+        double sample = completed.sumThenReset() * 1_000_000_000.0 / intervalNanos;
+        throughput = throughput < 0 ? sample : ALPHA * sample + (1 - ALPHA) * throughput;
+        cpuBusy = ALPHA * workerCpuNanos() / ((double) intervalNanos * cores) + (1 - ALPHA) * cpuBusy;
+        if (settling > 0) {
+            settling--; // the average still mixes in intervals from before the last resize
+            return;
+        }
+
+        int size = getCorePoolSize();
+        int queued = getQueue().size();
+        int target;
+        if (queued == 0 && getActiveCount() < size) {
+            // Not saturated, give back the threads nobody is using
+            target = Math.max(getActiveCount() + 1, minThreads);
+        } else if (queueWaitNanos(queued) < intervalNanos) {
+            target = size; // backlog clears within an interval, the size is fine
+        } else if (cpuBusy > SATURATED) {
+            // Every core is busy, extra threads would only wait for one; close half the gap to the cores
+            target = Math.max(minThreads, Math.min(size, Math.max(cores, size - Math.max(step, (size - cores) / 2))));
+            direction = -1;
+        } else {
+            if (throughput < beforeLastMove * (1 - IMPROVEMENT)) {
+                direction = -direction; // last move hurt, undo it
+            } else if (throughput <= beforeLastMove * (1 + IMPROVEMENT)) {
+                direction = -1;         // no real gain, same work with fewer threads is better
+            }
+            target = Math.max(minThreads, Math.min(maxThreads, size + direction * step));
+            if (target == size) {
+                direction = -direction; // hit a bound, next move goes the other way
+            }
+        }
+
+        // Hysteresis: act only on a decision that repeats
+        if (target == size) {
+            pendingTarget = -1;
+            streak = 0;
+            return;
+        }
+        if (Integer.signum(target - size) == Integer.signum(pendingTarget - size)) {
+            streak++;
+        } else {
+            streak = 1;
+        }
+        pendingTarget = target;
+        if (streak >= CONFIRMATIONS) {
+            beforeLastMove = throughput;
+            resize(target);
+            settling = 1;
+            pendingTarget = -1;
+            streak = 0;
+        }
+    }
+
+    // CPU time the workers used since the last call, 0 if the JVM can't measure it
+    private long workerCpuNanos() {
+        if (!THREADS.isThreadCpuTimeSupported()) {
+            return 0;
+        }
+        long used = 0;
+        for (Iterator<Thread> it = workers.iterator(); it.hasNext(); ) {
+            Thread worker = it.next();
+            long now = THREADS.getThreadCpuTime(worker.threadId());
+            if (now < 0) {
+                // Thread ended (pool shrank or idle timeout), forget it
+                it.remove();
+                lastCpuTime.remove(worker);
+                continue;
+            }
+            Long before = lastCpuTime.put(worker, now);
+            used += before == null ? 0 : now - before;
+        }
+        return used;
+    }
+
+    // Little's law: with throughput tasks/s leaving, a task behind 'queued' others waits queued / throughput
+    private double queueWaitNanos(int queued) {
+        if (queued == 0) {
+            return 0;
+        }
+        return throughput > 0 ? queued / throughput * 1_000_000_000.0 : Double.POSITIVE_INFINITY;
+    }
+
+    public double throughput() {
+        return throughput;
+    }
+
+    private void resize(int target) {
+        int size = getCorePoolSize();
+        if (target > size) {
+            // max must never be below core, so grow max first and shrink core first
+            setMaximumPoolSize(target);
+            setCorePoolSize(target);
+        } else if (target < size) {
+            setCorePoolSize(target);
+            setMaximumPoolSize(target);
+        }
+    }
+
+    @Override
+    protected void terminated() {
+        controller.shutdownNow();
+        super.terminated();
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        AdaptiveThreadPool pool = new AdaptiveThreadPool(2, 64, Duration.ofMillis(200)).start();
+
+        // Phase 1: blocking tasks, more threads help, pool should climb
+        for (int i = 0; i < 4000; i++) {
+            int finalI = i;
+            pool.execute(() -> {
+                try {
+                    Thread.sleep(20);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                TestWithoutFramework.calculateFact(finalI % 20);
+            });
+        }
+        for (int i = 0; i < 15; i++) {
+            Thread.sleep(200);
+            System.out.printf("Blocking phase  pool size: %2d, queued: %6d, throughput: %.0f/s%n",
+                    pool.getCorePoolSize(), pool.getQueue().size(), pool.throughput());
+        }
+
+        // Phase 2: CPU-bound tasks, more threads than cores don't help, pool should come back down to the cores
+        System.out.println("Cores: " + Runtime.getRuntime().availableProcessors());
+        while (!pool.getQueue().isEmpty()) {
+            Thread.sleep(50);
+        }
+        for (int i = 0; i < 200_000; i++) {
+            pool.execute(() -> {
+                long sum = 0;
+                for (int j = 0; j < 20_000; j++) {
+                    sum += TestWithoutFramework.calculateFact(j % 20);
+                }
+                if (sum == 42) {
+                    System.out.println(sum);
+                }
+            });
+        }
+        for (int i = 0; i < 15; i++) {
+            Thread.sleep(200);
+            System.out.printf("CPU phase       pool size: %2d, queued: %6d, throughput: %.0f/s%n",
+                    pool.getCorePoolSize(), pool.getQueue().size(), pool.throughput());
+        }
+        pool.shutdownNow();
+    }
+}
@@ -0,0 +1,119 @@
+package com.practice.OOPs.Multthreading.ExcuterFramework;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+Runs the same blocking task (sleep, then a small factorial) in each of the four modes from
+TestWithoutFramework and prints wall time, throughput, peak heap and peak platform threads.
+
+Every mode gets a task count it can finish in a few seconds: serial does one task per sleep,
+a fixed pool does pool-size tasks per sleep, so only the thread-per-task modes get big counts.
+Usage: ExecutionModeComparison [virtualTasks] [sleepMs]
+ */
+public class ExecutionModeComparison {
+
+    private static final LongAdder sink = new LongAdder();
+
+    private static void blockingTask(int i, long sleepMs) {
+        try {
+            Thread.sleep(sleepMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        sink.add(TestWithoutFramework.calculateFact(i % 20));
+    }
+
+    interface Mode {
+        void run(int tasks, long sleepMs) throws InterruptedException;
+    }
+
+    static void serial(int tasks, long sleepMs) {
+        for (int i = 0; i < tasks; i++) {
+            blockingTask(i, sleepMs);
+        }
+    }
+
+    static void platformThreadPerTask(int tasks, long sleepMs) throws InterruptedException {
+        Thread[] threads = new Thread[tasks];
+        for (int i = 0; i < tasks; i++) {
+            int finalI = i;
+            threads[i] = new Thread(() -> blockingTask(finalI, sleepMs));
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+    }
+
+    static void fixedPool(int tasks, long sleepMs) throws InterruptedException {
+        ExecutorService executorService = Executors.newFixedThreadPool(9);
+        for (int i = 0; i < tasks; i++) {
+            int finalI = i;
+            executorService.submit(() -> blockingTask(finalI, sleepMs));
+        }
+        executorService.shutdown();
+        executorService.awaitTermination(1, TimeUnit.HOURS);
+    }
+
+    static void virtualThreadPerTask(int tasks, long sleepMs) {
+        try (ExecutorService executorService = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < tasks; i++) {
+                int finalI = i;
+                executorService.submit(() -> blockingTask(finalI, sleepMs));
+            }
+        }
+    }
+
+    private static void measure(String name, Mode mode, int tasks, long sleepMs) throws InterruptedException {
+        System.gc();
+        Runtime runtime = Runtime.getRuntime();
+        ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        long baseHeap = runtime.totalMemory() - runtime.freeMemory();
+
+        // Sample heap and platform thread count while the mode runs
+        AtomicLong peakHeap = new AtomicLong(baseHeap);
+        AtomicLong peakThreads = new AtomicLong(threadMXBean.getThreadCount());
+        AtomicBoolean running = new AtomicBoolean(true);
+        Thread sampler = new Thread(() -> {
+            while (running.get()) {
+                peakHeap.accumulateAndGet(runtime.totalMemory() - runtime.freeMemory(), Math::max);
+                peakThreads.accumulateAndGet(threadMXBean.getThreadCount(), Math::max);
+                try {
+                    Thread.sleep(20);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        });
+        sampler.setDaemon(true);
+        sampler.start();
+
+        long startTime = System.nanoTime();
+        mode.run(tasks, sleepMs);
+        long elapsedMs = (System.nanoTime() - startTime) / 1_000_000;
+
+        running.set(false);
+        sampler.join();
+        System.out.printf("%-24s tasks=%,8d  wall=%,7d ms  throughput=%,9.0f tasks/s  heap+=%,6d MB  platformThreads=%,6d%n",
+                name, tasks, elapsedMs, tasks * 1000.0 / Math.max(1, elapsedMs),
+                (peakHeap.get() - baseHeap) / (1024 * 1024), peakThreads.get());
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        int virtualTasks = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        long sleepMs = args.length > 1 ? Long.parseLong(args[1]) : 1000;
+
+        measure("Serial", ExecutionModeComparison::serial, 3, sleepMs);
+        measure("Platform thread/task", ExecutionModeComparison::platformThreadPerTask, 5_000, sleepMs);
+        measure("Fixed pool (9)", ExecutionModeComparison::fixedPool, 27, sleepMs);
+        measure("Virtual thread/task", ExecutionModeComparison::virtualThreadPerTask, virtualTasks, sleepMs);
+        System.out.println("(ignore) " + sink.sum());
+    }
+}
@@ -0,0 +1,158 @@
+package com.practice.OOPs.Multthreading.ExcuterFramework;
+
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/*
+Batch version of factorialWithExciterFramework:
+- no hard-coded pool size, parallelism is a constructor argument
+- no System.out inside the tasks, results come back in order
+- one CompletableFuture per chunk (not per n), so a million inputs are ~parallelism*4 tasks
+ */
+public class FactorialBatchService implements AutoCloseable {
+
+    // 20! is the largest factorial that fits in a long
+    private static final long[] FACTORIALS = new long[21];
+
+    static {
+        FACTORIALS[0] = 1;
+        for (int i = 1; i < FACTORIALS.length; i++) {
+            FACTORIALS[i] = FACTORIALS[i - 1] * i;
+        }
+    }
+
+    private final ExecutorService executorService;
+    private final int parallelism;
+    private final int minChunkSize;
+
+    public FactorialBatchService(int parallelism) {
+        this(parallelism, 16 * 1024);
+    }
+
+    public FactorialBatchService(int parallelism, int minChunkSize) {
+        if (parallelism < 1 || minChunkSize < 1) {
+            throw new IllegalArgumentException("parallelism and minChunkSize must be positive");
+        }
+        this.parallelism = parallelism;
+        this.minChunkSize = minChunkSize;
+        this.executorService = Executors.newFixedThreadPool(parallelism);
+    }
+
+    // Async entry point, completes exceptionally if any n is negative or above 20
+    public CompletableFuture<BatchResult> submit(int[] ns) {
+        long startTime = System.nanoTime();
+        long[] results = new long[ns.length];
+
+        // A few chunks per thread so a slow chunk doesn't leave the others idle
+        int chunkSize = Math.max(minChunkSize, (ns.length + parallelism * 4 - 1) / (parallelism * 4));
+        int chunks = (ns.length + chunkSize - 1) / chunkSize;
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[chunks];
+        for (int c = 0; c < chunks; c++) {
+            int from = c * chunkSize;
+            int to = Math.min(ns.length, from + chunkSize);
+            // Each chunk writes its own slice of the array, no sharing between tasks
+            futures[c] = CompletableFuture.runAsync(() -> computeChunk(ns, results, from, to), executorService);
+        }
+
+        return CompletableFuture.allOf(futures)
+                .thenApply(done -> new BatchResult(results, System.nanoTime() - startTime));
+    }
+
+    // Blocking entry point
+    public BatchResult compute(int[] ns) {
+        try {
+            return submit(ns).join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) ex.getCause();
+            }
+            throw ex;
+        }
+    }
+
+    public LongStream stream(int[] ns) {
+        return compute(ns).stream();
+    }
+
+    private static void computeChunk(int[] ns, long[] results, int from, int to) {
+        for (int i = from; i < to; i++) {
+            results[i] = factorial(ns[i]);
+        }
+    }
+
+    private static long factorial(int n) {
+        if (n < 0 || n >= FACTORIALS.length) {
+            throw new ArithmeticException("Factorial of " + n + " does not fit in a long");
+        }
+        return FACTORIALS[n];
+    }
+
+    @Override
+    public void close() {
+        executorService.shutdown();
+        try {
+            executorService.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public static class BatchResult {
+        private final long[] values;
+        private final long elapsedNanos;
+
+        BatchResult(long[] values, long elapsedNanos) {
+            this.values = values;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        // results[i] is the factorial of ns[i]
+        public long[] values() {
+            return values;
+        }
+
+        public LongStream stream() {
+            return Arrays.stream(values);
+        }
+
+        public long elapsedNanos() {
+            return elapsedNanos;
+        }
+
+        public double itemsPerSecond() {
+            return elapsedNanos == 0 ? 0 : values.length * 1_000_000_000.0 / elapsedNanos;
+        }
+
+        @Override
+        public String toString() {
+            return values.length + " items in " + elapsedNanos / 1_000_000 + " ms ("
+                    + String.format("%,.0f", itemsPerSecond()) + " items/s)";
+        }
+    }
+
+    public static void main(String[] args) {
+        int[] ns = new int[10_000_000];
+        for (int i = 0; i < ns.length; i++) {
+            ns[i] = i % 21;
+        }
+
+        int parallelism = Runtime.getRuntime().availableProcessors();
+        try (FactorialBatchService service = new FactorialBatchService(parallelism)) {
+            service.compute(ns); // warm up
+            BatchResult result = service.compute(ns);
+            System.out.println("Parallelism " + parallelism + ": " + result);
+            System.out.println("Factorial of " + ns[10] + " is: " + result.values()[10]);
+
+            try {
+                service.compute(new int[]{5, 25});
+            } catch (ArithmeticException ex) {
+                System.out.println("Batch failed: " + ex.getMessage());
+            }
+        }
+    }
+}
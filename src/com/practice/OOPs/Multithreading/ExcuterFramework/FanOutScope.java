@@ -0,0 +1,241 @@
+package com.practice.OOPs.Multthreading.ExcuterFramework;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/*
+Structured fan-out / fan-in: subtasks are forked inside a try-with-resources block and can't
+outlive it. Unlike factorialWithThread (start, then join one by one):
+- a failure cancels (interrupts) every sibling still running
+- a deadline cancels everything and throws TimeoutException
+- joinQuorum(k) returns as soon as k subtasks succeeded and cancels the rest
+
+    try (FanOutScope<Long> scope = new FanOutScope<>()) {
+        scope.fork(() -> slowCall(1));
+        scope.fork(() -> slowCall(2));
+        List<Long> all = scope.joinAll(Duration.ofSeconds(2));
+    }
+
+StructuredTaskScope does the same thing but is still a preview API (needs --enable-preview),
+so this is built on a virtual-thread-per-task executor instead.
+ */
+public class FanOutScope<T> implements AutoCloseable {
+
+    private final ExecutorService executorService;
+    private final List<Future<?>> futures = new ArrayList<>();
+    private final List<T> resultsByFork = new ArrayList<>();
+    private final List<T> resultsByCompletion = new ArrayList<>();
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+    private int succeeded;
+    private int failed;
+    private Throwable firstFailure;
+    private InterruptedException firstInterrupt; // cause of last resort, see runSubtask
+    private boolean joined;
+
+    public FanOutScope() {
+        this(Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    // The scope owns the executor and shuts it down on close()
+    public FanOutScope(ExecutorService executorService) {
+        this.executorService = executorService;
+    }
+
+    public void fork(Callable<? extends T> task) {
+        lock.lock();
+        try {
+            if (joined) {
+                throw new IllegalStateException("Cannot fork after join");
+            }
+            int index = resultsByFork.size();
+            resultsByFork.add(null);
+            futures.add(executorService.submit(() -> runSubtask(index, task)));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void runSubtask(int index, Callable<? extends T> task) {
+        T result;
+        try {
+            result = task.call();
+        } catch (Throwable ex) {
+            if (ex instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            lock.lock();
+            try {
+                failed++;
+                // Interrupts caused by our own cancellation are not the interesting failure,
+                // but if nothing else failed the interrupt is the reason and must not be dropped
+                if (ex instanceof InterruptedException interrupted) {
+                    if (firstInterrupt == null) {
+                        firstInterrupt = interrupted;
+                    }
+                } else if (firstFailure == null) {
+                    firstFailure = ex;
+                }
+                changed.signalAll();
+            } finally {
+                lock.unlock();
+            }
+            return;
+        }
+        lock.lock();
+        try {
+            succeeded++;
+            resultsByFork.set(index, result);
+            resultsByCompletion.add(result);
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Waits for every subtask, results in fork order. Any failure cancels the rest
+    public List<T> joinAll(Duration deadline) throws InterruptedException, ExecutionException, TimeoutException {
+        int forks = forkCount();
+        await(forks, deadline);
+        lock.lock();
+        try {
+            return new ArrayList<>(resultsByFork);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Returns the first 'required' successful results in completion order, cancels the rest.
+    // Fails once so many subtasks failed that the quorum can't be reached any more
+    public List<T> joinQuorum(int required, Duration deadline) throws InterruptedException, ExecutionException, TimeoutException {
+        if (required < 1 || required > forkCount()) {
+            throw new IllegalArgumentException("quorum must be in [1, " + forkCount() + "]: " + required);
+        }
+        await(required, deadline);
+        lock.lock();
+        try {
+            return new ArrayList<>(resultsByCompletion.subList(0, required));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private int forkCount() {
+        lock.lock();
+        try {
+            return futures.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void await(int required, Duration deadline) throws InterruptedException, ExecutionException, TimeoutException {
+        long remaining = deadline.toNanos();
+        lock.lock();
+        try {
+            joined = true;
+            int forks = futures.size();
+            while (succeeded < required) {
+                if (forks - failed < required) {
+                    cancelAll();
+                    throw new ExecutionException("Quorum of " + required + " not reachable, " + failed + " of " + forks + " subtasks failed",
+                            firstFailure != null ? firstFailure : firstInterrupt);
+                }
+                if (remaining <= 0) {
+                    cancelAll();
+                    throw new TimeoutException("Deadline of " + deadline.toMillis() + " ms passed with " + succeeded + " of " + required + " results");
+                }
+                remaining = changed.awaitNanos(remaining);
+            }
+            cancelAll(); // quorum reached, nobody needs the stragglers
+        } catch (InterruptedException ex) {
+            cancelAll();
+            throw ex;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void cancelAll() {
+        for (Future<?> future : futures) {
+            future.cancel(true);
+        }
+    }
+
+    // Cancels anything still running and waits until every subtask thread has finished
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            joined = true;
+            cancelAll();
+        } finally {
+            lock.unlock();
+        }
+        executorService.shutdownNow();
+        try {
+            while (!executorService.awaitTermination(1, TimeUnit.SECONDS)) {
+                executorService.shutdownNow();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        // Quorum: 3 of 5 replicas, the slow ones get cancelled
+        try (FanOutScope<String> scope = new FanOutScope<>()) {
+            for (int i = 1; i <= 5; i++) {
+                int delay = i * 200;
+                scope.fork(() -> {
+                    Thread.sleep(delay);
+                    return "replica answering after " + delay + " ms";
+                });
+            }
+            long startTime = System.currentTimeMillis();
+            System.out.println(scope.joinQuorum(3, Duration.ofSeconds(5)));
+            System.out.println("Quorum in " + (System.currentTimeMillis() - startTime) + " ms");
+        }
+
+        // Fail fast: one failure cancels the 10 second siblings right away
+        long startTime = System.currentTimeMillis();
+        try (FanOutScope<Long> scope = new FanOutScope<>()) {
+            for (int i = 1; i <= 5; i++) {
+                int finalI = i;
+                scope.fork(() -> {
+                    if (finalI == 3) {
+                        throw new IllegalStateException("task " + finalI + " failed");
+                    }
+                    Thread.sleep(10_000);
+                    return TestWithoutFramework.calculateFact(finalI);
+                });
+            }
+            scope.joinAll(Duration.ofSeconds(30));
+        } catch (ExecutionException ex) {
+            System.out.println(ex.getMessage() + " -> " + ex.getCause());
+        }
+        System.out.println("Failure handled in " + (System.currentTimeMillis() - startTime) + " ms");
+
+        // Deadline
+        try (FanOutScope<Long> scope = new FanOutScope<>()) {
+            scope.fork(() -> {
+                Thread.sleep(10_000);
+                return 1L;
+            });
+            scope.joinAll(Duration.ofMillis(300));
+        } catch (TimeoutException ex) {
+            System.out.println(ex.getMessage());
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package com.practice.OOPs.Multthreading.ExcuterFramework;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+Decorates any ExecutorService and measures, per task:
+  queue wait = submitted -> started (high means the pool is saturated)
+  execution  = started -> finished  (high means the tasks themselves are slow)
+plus active threads, queue depth and rejections. Call snapshot() from a monitoring thread.
+
+submit()/invokeAll() come from AbstractExecutorService, so everything goes through execute().
+They wrap the task in a FutureTask, which keeps an exception for get() instead of throwing it,
+so for those a failure is read from the future's state after it ran. Cancelled futures are
+counted on their own and left out of both histograms.
+ */
+public class InstrumentedExecutorService extends AbstractExecutorService {
+
+    private final ExecutorService delegate;
+
+    private final LatencyHistogram queueWait = new LatencyHistogram();
+    private final LatencyHistogram execution = new LatencyHistogram();
+    private final AtomicInteger active = new AtomicInteger();
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder started = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder drained = new LongAdder();
+    private final LongAdder cancelledQueued = new LongAdder();  // cancelled before they started
+    private final LongAdder cancelledRunning = new LongAdder(); // cancelled while running
+
+    public InstrumentedExecutorService(ExecutorService delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        TimedTask task = new TimedTask(command);
+        submitted.increment();
+        try {
+            delegate.execute(task);
+        } catch (RejectedExecutionException ex) {
+            rejected.increment();
+            throw ex;
+        }
+    }
+
+    private class TimedTask implements Runnable {
+        private final Runnable task;
+        private final long submitNanos = System.nanoTime();
+
+        TimedTask(Runnable task) {
+            this.task = task;
+        }
+
+        @Override
+        public void run() {
+            if (task instanceof Future<?> future && future.isCancelled()) {
+                cancelledQueued.increment(); // FutureTask.run() would return right away
+                return;
+            }
+            long startNanos = System.nanoTime();
+            queueWait.record(startNanos - submitNanos);
+            started.increment();
+            active.incrementAndGet();
+            boolean cancelled = false;
+            try {
+                task.run();
+                Future.State state = task instanceof Future<?> future ? future.state() : Future.State.SUCCESS;
+                if (state == Future.State.CANCELLED) {
+                    cancelled = true;
+                    cancelledRunning.increment();
+                } else if (state == Future.State.FAILED) {
+                    failed.increment();
+                } else {
+                    completed.increment();
+                }
+            } catch (RuntimeException | Error ex) {
+                failed.increment();
+                throw ex;
+            } finally {
+                active.decrementAndGet();
+                if (!cancelled) {
+                    execution.record(System.nanoTime() - startNanos);
+                }
+            }
+        }
+    }
+
+    public Snapshot snapshot() {
+        long submittedCount = submitted.sum();
+        long rejectedCount = rejected.sum();
+        long startedCount = started.sum();
+        // Counters are read one after another, clamp so a racing update can't show negative depth
+        long notStarted = cancelledQueued.sum();
+        long queueDepth = Math.max(0, submittedCount - rejectedCount - startedCount - drained.sum() - notStarted);
+        return new Snapshot(queueWait.snapshot(), execution.snapshot(), active.get(), queueDepth,
+                submittedCount, completed.sum(), failed.sum(), notStarted + cancelledRunning.sum(), rejectedCount);
+    }
+
+    @Override
+    public void shutdown() {
+        delegate.shutdown();
+    }
+
+    // Hands back the caller's tasks, not our wrappers
+    @Override
+    public List<Runnable> shutdownNow() {
+        List<Runnable> pending = delegate.shutdownNow();
+        List<Runnable> unwrapped = new ArrayList<>(pending.size());
+        for (Runnable runnable : pending) {
+            unwrapped.add(runnable instanceof TimedTask ? ((TimedTask) runnable).task : runnable);
+        }
+        drained.add(pending.size());
+        return unwrapped;
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return delegate.isShutdown();
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return delegate.isTerminated();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return delegate.awaitTermination(timeout, unit);
+    }
+
+    public static class Snapshot {
+        public final LatencyHistogram.Snapshot queueWait;
+        public final LatencyHistogram.Snapshot execution;
+        public final int activeThreads;
+        public final long queueDepth;
+        public final long submitted;
+        public final long completed;
+        public final long failed;
+        public final long cancelled;
+        public final long rejected;
+
+        Snapshot(LatencyHistogram.Snapshot queueWait, LatencyHistogram.Snapshot execution, int activeThreads,
+                 long queueDepth, long submitted, long completed, long failed, long cancelled, long rejected) {
+            this.queueWait = queueWait;
+            this.execution = execution;
+            this.activeThreads = activeThreads;
+            this.queueDepth = queueDepth;
+            this.submitted = submitted;
+            this.completed = completed;
+            this.failed = failed;
+            this.cancelled = cancelled;
+            this.rejected = rejected;
+        }
+
+        @Override
+        public String toString() {
+            return "active=" + activeThreads + " queued=" + queueDepth + " submitted=" + submitted
+                    + " completed=" + completed + " failed=" + failed + " cancelled=" + cancelled + " rejected=" + rejected
+                    + "\n  wait: " + queueWait + "\n  run:  " + execution;
+        }
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        InstrumentedExecutorService executorService = new InstrumentedExecutorService(Executors.newFixedThreadPool(9));
+
+        // Monitoring thread polls the pool while it works
+        Thread monitor = new Thread(() -> {
+            while (!executorService.isTerminated()) {
+                System.out.println(executorService.snapshot());
+                try {
+                    Thread.sleep(500);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        });
+        monitor.setDaemon(true);
+        monitor.start();
+
+        long startTime = System.currentTimeMillis();
+        // More tasks than threads: long queue waits with short runs means saturation, not slow tasks
+        List<Future<Long>> futures = new ArrayList<>();
+        for (int i = 1; i <= 200; i++) {
+            int finalI = i;
+            futures.add(executorService.submit(() -> {
+                try {
+                    Thread.sleep(20);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                if (finalI % 50 == 0) {
+                    throw new IllegalStateException("task " + finalI + " failed"); // shows up as failed=4
+                }
+                return TestWithoutFramework.calculateFact(finalI % 20);
+            }));
+        }
+        // Still queued behind 180 others, these never run: cancelled=10, not completed
+        for (Future<Long> future : futures.subList(180, 190)) {
+            future.cancel(false);
+        }
+        executorService.shutdown();
+        executorService.awaitTermination(1, TimeUnit.MINUTES);
+        System.out.println("Final: " + executorService.snapshot());
+        System.out.println("Total Time: " + (System.currentTimeMillis() - startTime) + " ms ");
+    }
+}
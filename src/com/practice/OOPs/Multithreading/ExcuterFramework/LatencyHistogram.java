@@ -0,0 +1,111 @@
+package com.practice.OOPs.Multthreading.ExcuterFramework;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+Lock-free latency histogram with power-of-two buckets: bucket i holds values in [2^(i-1), 2^i).
+Recording is one array slot increment plus two striped adders, cheap enough for every task.
+Percentiles are therefore approximate (reported as the bucket's upper bound, at most 2x off),
+which is plenty to tell 50 us from 5 ms.
+ */
+public class LatencyHistogram {
+
+    private static final int BUCKETS = 64;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder total = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    public void record(long nanos) {
+        if (nanos < 0) {
+            nanos = 0;
+        }
+        buckets.incrementAndGet(BUCKETS - Long.numberOfLeadingZeros(nanos)); // 0 -> bucket 0
+        count.increment();
+        total.add(nanos);
+        max.accumulate(nanos);
+    }
+
+    public Snapshot snapshot() {
+        long[] copy = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            copy[i] = buckets.get(i);
+        }
+        return new Snapshot(copy, count.sum(), total.sum(), max.get());
+    }
+
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets.set(i, 0);
+        }
+        count.reset();
+        total.reset();
+        max.reset();
+    }
+
+    // Point-in-time copy, safe to read from a monitoring thread
+    public static class Snapshot {
+        private final long[] buckets;
+        private final long count;
+        private final long total;
+        private final long max;
+
+        Snapshot(long[] buckets, long count, long total, long max) {
+            this.buckets = buckets;
+            this.count = count;
+            this.total = total;
+            this.max = max;
+        }
+
+        public long count() {
+            return count;
+        }
+
+        public long max() {
+            return max;
+        }
+
+        public double mean() {
+            return count == 0 ? 0 : (double) total / count;
+        }
+
+        // Upper bound of the bucket that holds the given percentile, e.g. percentile(99)
+        public long percentile(double percent) {
+            long seen = 0;
+            long sum = 0;
+            for (long bucket : buckets) {
+                sum += bucket;
+            }
+            if (sum == 0) {
+                return 0;
+            }
+            long rank = (long) Math.ceil(sum * percent / 100.0);
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += buckets[i];
+                if (seen >= rank) {
+                    return i == 0 ? 0 : Math.min(max, (1L << i) - 1);
+                }
+            }
+            return max;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("n=%d mean=%s p50=%s p99=%s max=%s", count, format((long) mean()),
+                    format(percentile(50)), format(percentile(99)), format(max));
+        }
+
+        private static String format(long nanos) {
+            if (nanos < 10_000) {
+                return nanos + "ns";
+            }
+            if (nanos < 10_000_000) {
+                return nanos / 1_000 + "us";
+            }
+            return nanos / 1_000_000 + "ms";
+        }
+    }
+}
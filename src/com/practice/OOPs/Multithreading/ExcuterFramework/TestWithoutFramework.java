@@ -1,5 +1,7 @@
 package com.practice.OOPs.Multthreading.ExcuterFramework;
 
+import java.time.Duration;
+import java.util.List;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
@@ -41,6 +43,23 @@ public class TestWithoutFramework {
     }
 
 
+    public static void factorialWithStructuredFanOut() throws Exception {
+        long startTime= System.currentTimeMillis();// 1 Jan 1970
+        // Same fan-out as factorialWithThread, but a failure or the deadline cancels every other task
+        try (FanOutScope<Long> scope = new FanOutScope<>()) {
+            for(int i=1;i<10;i++){
+                int finalI=i;
+                scope.fork(()-> calculateFact(finalI));
+            }
+            List<Long> results = scope.joinAll(Duration.ofSeconds(5));
+            for(int i=0;i<results.size();i++){
+                System.out.println("Factorial of "+(i+1) +" is: " +results.get(i));
+            }
+        }
+        System.out.println("Total Time: "+ (System.currentTimeMillis()-startTime) +" ms ");
+    }
+
+
     public static void factorialWithExciterFramework() throws InterruptedException {
         long startTime= System.currentTimeMillis();// 1 Jan 1970
         ExecutorService executorService = Executors.newFixedThreadPool(9);
@@ -62,7 +81,24 @@ public class TestWithoutFramework {
 
     }
 
-    private static long calculateFact(long n){
+    public static void factorialWithVirtualThreads() throws InterruptedException {
+        long startTime= System.currentTimeMillis();// 1 Jan 1970
+        // One cheap virtual thread per task, blocking calls park the virtual thread and free its carrier thread
+        try (ExecutorService executorService = Executors.newVirtualThreadPerTaskExecutor()) {
+            for(int i=1;i<=10;i++){
+                int finalI=i;
+                executorService.submit(()->{
+                    Thread.sleep(1000); // same blocking work as factorialWithoutThread, but all 10 sleep at once
+                    System.out.println("Factorial of "+finalI +" is: " +calculateFact(finalI));
+                    return null;
+                });
+            }
+        } // close() waits for every submitted task to finish
+        System.out.println("Total Time: "+ (System.currentTimeMillis()-startTime) +" ms ");
+
+    }
+
+    static long calculateFact(long n){
        long result =1;
         for(int i=1;i<=n;i++){ //3 1= 1*1 -> 1 = 1 * 2 -> 2= 2 *3
             result *= i;
@@ -78,10 +114,14 @@ public class TestWithoutFramework {
             // factorialWithoutThread();
             /* With Thread Code manual creates Thread and manage stuff */
             // factorialWithThread();
+            /* Same as above but structured: failure or deadline cancels the siblings */
+            // factorialWithStructuredFanOut();
             /* Using Executor Framework to manage thread creation and stopping of threads */
             factorialWithExciterFramework();
+            /* Using virtual threads for blocking tasks, see ExecutionModeComparison for 100k tasks */
+            // factorialWithVirtualThreads();
 
         }
-        catch (InterruptedException ex){System.out.println(ex);}
+        catch (Exception ex){System.out.println(ex);}
     }
 }
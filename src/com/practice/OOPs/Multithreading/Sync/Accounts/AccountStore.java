@@ -0,0 +1,331 @@
+package com.practice.OOPs.Multthreading.Sync.Accounts;
+
+import java.nio.LongBuffer;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/*
+In-memory store for millions of accounts.
+
+One BankAccount object per account costs an object header, an int, and a ReentrantLock
+(another object, plus its sync queue node when contended), so 10 million accounts is ~1 GB of
+small objects. Here an account is just an index into a long[] of balances in cents: 8 bytes each.
+
+Accounts are split over shards, each shard is one long[] with one lock:
+  shard  = id & (shards - 1)   neighbouring ids land on different shards, so a hot range spreads out
+  offset = id >>> shardBits
+Transfers that touch two shards always lock the lower shard number first, so two opposite
+transfers can never wait on each other (no deadlock).
+ */
+public class AccountStore {
+
+    // Where logged operations go, see DurableAccountStore
+    interface Journal {
+        CompletableFuture<Long> append(byte type, int from, int to, long cents);
+    }
+
+    private static final CompletableFuture<Long> DONE = CompletableFuture.completedFuture(0L);
+
+    private final long[][] balances;
+    private final ReentrantLock[] locks;
+    private final int shardBits;
+    private final int shardMask;
+    private final int accounts;
+
+    public AccountStore(int accounts) {
+        this(accounts, Runtime.getRuntime().availableProcessors() * 4);
+    }
+
+    public AccountStore(int accounts, int shards) {
+        if (accounts < 0 || shards < 1) {
+            throw new IllegalArgumentException("Invalid store size: " + accounts + " accounts, " + shards + " shards");
+        }
+        int size = 1;
+        while (size < shards) {
+            size <<= 1;
+        }
+        this.accounts = accounts;
+        this.shardBits = Integer.numberOfTrailingZeros(size);
+        this.shardMask = size - 1;
+        this.balances = new long[size][];
+        this.locks = new ReentrantLock[size];
+        for (int s = 0; s < size; s++) {
+            // Shard s holds ids s, s + size, s + 2 * size, ...
+            balances[s] = new long[(accounts - s + size - 1) >> shardBits];
+            locks[s] = new ReentrantLock();
+        }
+    }
+
+    public int size() {
+        return accounts;
+    }
+
+    public int shardCount() {
+        return balances.length;
+    }
+
+    int shardOf(int id) {
+        return id & shardMask;
+    }
+
+    int offsetOf(int id) {
+        return id >>> shardBits;
+    }
+
+    private void checkId(int id) {
+        if (id < 0 || id >= accounts) {
+            throw new IllegalArgumentException("Unknown account: " + id);
+        }
+    }
+
+    private static void checkAmount(long cents) {
+        if (cents <= 0) {
+            throw new IllegalArgumentException("Amount must be positive: " + cents);
+        }
+    }
+
+    public long balance(int id) {
+        checkId(id);
+        ReentrantLock lock = locks[shardOf(id)];
+        lock.lock();
+        try {
+            return balances[shardOf(id)][offsetOf(id)];
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void deposit(int id, long cents) {
+        deposit(id, cents, null);
+    }
+
+    public boolean withdraw(int id, long cents) {
+        return withdraw(id, cents, null) != null;
+    }
+
+    /*
+    Journal versions used by DurableAccountStore: the change is logged while the shard lock is
+    still held, so log order matches the order changes were applied to each account.
+    They return the journal's durability future, or null when nothing changed.
+     */
+    CompletableFuture<Long> deposit(int id, long cents, Journal journal) {
+        checkId(id);
+        checkAmount(cents);
+        int shard = shardOf(id);
+        locks[shard].lock();
+        try {
+            long[] shardBalances = balances[shard];
+            shardBalances[offsetOf(id)] = Math.addExact(shardBalances[offsetOf(id)], cents);
+            return journal == null ? DONE : journal.append(WriteAheadLog.DEPOSIT, id, id, cents);
+        } finally {
+            locks[shard].unlock();
+        }
+    }
+
+    CompletableFuture<Long> withdraw(int id, long cents, Journal journal) {
+        checkId(id);
+        checkAmount(cents);
+        int shard = shardOf(id);
+        locks[shard].lock();
+        try {
+            if (!withdrawLocked(shard, offsetOf(id), cents)) {
+                return null;
+            }
+            return journal == null ? DONE : journal.append(WriteAheadLog.WITHDRAW, id, id, cents);
+        } finally {
+            locks[shard].unlock();
+        }
+    }
+
+    private boolean withdrawLocked(int shard, int offset, long cents) {
+        long[] shardBalances = balances[shard];
+        if (shardBalances[offset] < cents) {
+            return false;
+        }
+        shardBalances[offset] -= cents;
+        return true;
+    }
+
+    public boolean transfer(int from, int to, long cents) {
+        return transfer(from, to, cents, null) != null;
+    }
+
+    CompletableFuture<Long> transfer(int from, int to, long cents, Journal journal) {
+        checkId(from);
+        checkId(to);
+        checkAmount(cents);
+        if (from == to) {
+            return balance(from) >= cents ? DONE : null; // nothing moves, nothing to log
+        }
+        int fromShard = shardOf(from);
+        int toShard = shardOf(to);
+        // Global order: lower shard number first, whatever the direction of the transfer
+        ReentrantLock first = locks[Math.min(fromShard, toShard)];
+        ReentrantLock second = locks[Math.max(fromShard, toShard)];
+        first.lock();
+        try {
+            if (second != first) {
+                second.lock();
+            }
+            try {
+                if (!withdrawLocked(fromShard, offsetOf(from), cents)) {
+                    return null;
+                }
+                long[] toBalances = balances[toShard];
+                toBalances[offsetOf(to)] = Math.addExact(toBalances[offsetOf(to)], cents);
+                return journal == null ? DONE : journal.append(WriteAheadLog.TRANSFER, from, to, cents);
+            } finally {
+                if (second != first) {
+                    second.unlock();
+                }
+            }
+        } finally {
+            first.unlock();
+        }
+    }
+
+    // Replay: re-applies a change that already passed validation when it was logged
+    void adjust(int id, long deltaCents) {
+        checkId(id);
+        int shard = shardOf(id);
+        locks[shard].lock();
+        try {
+            long[] shardBalances = balances[shard];
+            shardBalances[offsetOf(id)] = Math.addExact(shardBalances[offsetOf(id)], deltaCents);
+        } finally {
+            locks[shard].unlock();
+        }
+    }
+
+    /*
+    Copies every balance into into[id] while holding all shard locks, and returns cut.getAsLong()
+    read under those same locks. Journal appends happen under a shard lock, so with every lock
+    held no operation is half done: the copy contains exactly the operations logged up to the cut.
+     */
+    long copyBalances(long[] into, LongSupplier cut) {
+        if (into.length < accounts) {
+            throw new IllegalArgumentException("Need room for " + accounts + " balances, got " + into.length);
+        }
+        for (ReentrantLock lock : locks) {
+            lock.lock();
+        }
+        try {
+            for (int s = 0; s < balances.length; s++) {
+                long[] shardBalances = balances[s];
+                for (int offset = 0; offset < shardBalances.length; offset++) {
+                    int id = (offset << shardBits) | s;
+                    if (id < accounts) {
+                        into[id] = shardBalances[offset];
+                    }
+                }
+            }
+            return cut.getAsLong();
+        } finally {
+            for (int s = locks.length - 1; s >= 0; s--) {
+                locks[s].unlock();
+            }
+        }
+    }
+
+    // Loads balances for firstId, firstId + 1, ... from a snapshot, before the store is in use
+    void restore(int firstId, LongBuffer values) {
+        if (firstId < 0 || (long) firstId + values.remaining() > accounts) {
+            throw new IllegalArgumentException("Snapshot range " + firstId + " + " + values.remaining() + " is outside the store");
+        }
+        for (ReentrantLock lock : locks) {
+            lock.lock();
+        }
+        try {
+            for (int id = firstId; values.hasRemaining(); id++) {
+                balances[shardOf(id)][offsetOf(id)] = values.get();
+            }
+        } finally {
+            for (int s = locks.length - 1; s >= 0; s--) {
+                locks[s].unlock();
+            }
+        }
+    }
+
+    // Applies many deposits taking each shard's lock once instead of once per account
+    public void depositAll(int[] ids, long[] cents) {
+        applyBulk(ids, cents, true, null);
+    }
+
+    // Withdraws where the balance allows it; result[i] tells whether ids[i] was charged
+    public boolean[] withdrawAll(int[] ids, long[] cents) {
+        boolean[] results = new boolean[ids.length];
+        applyBulk(ids, cents, false, results);
+        return results;
+    }
+
+    public boolean[] transferAll(int[] from, int[] to, long[] cents) {
+        if (from.length != to.length || from.length != cents.length) {
+            throw new IllegalArgumentException("from, to and cents must have the same length");
+        }
+        boolean[] results = new boolean[from.length];
+        for (int i = 0; i < from.length; i++) {
+            results[i] = transfer(from[i], to[i], cents[i]);
+        }
+        return results;
+    }
+
+    private void applyBulk(int[] ids, long[] cents, boolean deposit, boolean[] results) {
+        if (ids.length != cents.length) {
+            throw new IllegalArgumentException("ids and cents must have the same length");
+        }
+        // Counting sort of the operations by shard
+        int shards = balances.length;
+        int[] start = new int[shards + 1];
+        for (int i = 0; i < ids.length; i++) {
+            checkId(ids[i]);
+            checkAmount(cents[i]);
+            start[shardOf(ids[i]) + 1]++;
+        }
+        for (int s = 0; s < shards; s++) {
+            start[s + 1] += start[s];
+        }
+        int[] order = new int[ids.length];
+        int[] next = start.clone();
+        for (int i = 0; i < ids.length; i++) {
+            order[next[shardOf(ids[i])]++] = i;
+        }
+
+        for (int s = 0; s < shards; s++) {
+            if (start[s] == start[s + 1]) {
+                continue;
+            }
+            locks[s].lock();
+            try {
+                long[] shardBalances = balances[s];
+                for (int k = start[s]; k < start[s + 1]; k++) {
+                    int i = order[k];
+                    int offset = offsetOf(ids[i]);
+                    if (deposit) {
+                        shardBalances[offset] = Math.addExact(shardBalances[offset], cents[i]);
+                    } else {
+                        results[i] = withdrawLocked(s, offset, cents[i]);
+                    }
+                }
+            } finally {
+                locks[s].unlock();
+            }
+        }
+    }
+
+    // Sum shard by shard: exact when idle, not a point-in-time total while transfers run
+    public long totalBalance() {
+        long total = 0;
+        for (int s = 0; s < balances.length; s++) {
+            locks[s].lock();
+            try {
+                for (long balance : balances[s]) {
+                    total += balance;
+                }
+            } finally {
+                locks[s].unlock();
+            }
+        }
+        return total;
+    }
+}
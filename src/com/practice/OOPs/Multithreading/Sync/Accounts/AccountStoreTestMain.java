@@ -0,0 +1,54 @@
+package com.practice.OOPs.Multthreading.Sync.Accounts;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+public class AccountStoreTestMain {
+
+    public static void main(String[] args) throws InterruptedException {
+        int accounts = args.length > 0 ? Integer.parseInt(args[0]) : 10_000_000;
+
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        long heapBefore = runtime.totalMemory() - runtime.freeMemory();
+        AccountStore store = new AccountStore(accounts);
+        System.gc();
+        long heapAfter = runtime.totalMemory() - runtime.freeMemory();
+        System.out.printf("%,d accounts in %d shards: ~%.1f bytes per account%n", accounts, store.shardCount(),
+                (double) (heapAfter - heapBefore) / accounts);
+
+        // Everybody starts with 100.00
+        int[] ids = new int[accounts];
+        long[] cents = new long[accounts];
+        for (int i = 0; i < accounts; i++) {
+            ids[i] = i;
+            cents[i] = 100_00;
+        }
+        long startTime = System.currentTimeMillis();
+        store.depositAll(ids, cents);
+        System.out.println("Bulk deposit: " + (System.currentTimeMillis() - startTime) + " ms");
+        long expectedTotal = store.totalBalance();
+
+        // Random transfers in both directions from many threads; with unordered locking this would deadlock
+        int threads = 8;
+        int perThread = 1_000_000;
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            workers[t] = new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < perThread; i++) {
+                    store.transfer(random.nextInt(accounts), random.nextInt(accounts), 1 + random.nextInt(50_00));
+                }
+            });
+        }
+        startTime = System.currentTimeMillis();
+        for (Thread worker : workers) {
+            worker.start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        long elapsed = System.currentTimeMillis() - startTime;
+        System.out.printf("%,d transfers in %d ms (%,d/s), money conserved: %b%n", threads * perThread, elapsed,
+                threads * perThread * 1000L / Math.max(1, elapsed), store.totalBalance() == expectedTotal);
+    }
+}
@@ -0,0 +1,120 @@
+package com.practice.OOPs.Multthreading.Sync.Accounts;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/*
+Point-in-time copy of every balance, stored as a fixed-width file so it can be memory mapped.
+
+Layout, big endian:
+  magic (4) | version (4) | accounts (4) | unused (4) | lsn (8) | balance of id 0 (8) | id 1 (8) | ...
+Balance of account id sits at HEADER + id * 8, so writing and loading are plain bulk copies
+between a long[] and the mapped pages; no parsing, no per-record checksum.
+
+lsn is the last log record the balances include. On restart only the log after it is replayed.
+
+write() builds the file next to the real one and renames it over it once it is forced to disk,
+then forces the directory so the rename itself survives a crash. A crash halfway leaves the old
+snapshot in place, never a half-written one; a write that fails deletes its temp file.
+
+FileChannel closes itself when its thread is interrupted, so an interrupt that is already pending
+is set aside during write() and restored afterwards. One that arrives in the middle still fails
+the write with ClosedByInterruptException; don't interrupt a thread that is taking a snapshot.
+ */
+public class BalanceSnapshot {
+
+    private static final int MAGIC = 0x42414C53; // "BALS"
+    private static final int VERSION = 1;
+    static final int HEADER = 24;
+
+    // A single mapping is limited to 2 GB, bigger files are mapped in pieces
+    private static final long REGION = 1L << 30;
+
+    private BalanceSnapshot() {
+    }
+
+    public static void write(Path file, long lsn, long[] balances, int accounts) throws IOException {
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        boolean interrupted = Thread.interrupted();
+        try {
+            writeAndRename(temp, file, lsn, balances, accounts);
+        } catch (IOException | RuntimeException | Error ex) {
+            try {
+                Files.deleteIfExists(temp);
+            } catch (IOException cleanup) {
+                ex.addSuppressed(cleanup);
+            }
+            throw ex;
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static void writeAndRename(Path temp, Path file, long lsn, long[] balances, int accounts) throws IOException {
+        long size = HEADER + (long) accounts * Long.BYTES;
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER);
+            header.putInt(MAGIC).putInt(VERSION).putInt(accounts).putInt(0).putLong(lsn);
+            header.force();
+
+            int id = 0;
+            for (long position = HEADER; position < size; position += REGION) {
+                MappedByteBuffer region = channel.map(FileChannel.MapMode.READ_WRITE, position, Math.min(REGION, size - position));
+                LongBuffer values = region.asLongBuffer();
+                int count = values.remaining();
+                values.put(balances, id, count);
+                id += count;
+                region.force();
+            }
+            channel.force(true);
+        }
+        Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        // The rename is only durable once the directory is; the caller deletes log segments next
+        WriteAheadLog.forceDirectory(file.toAbsolutePath().getParent());
+    }
+
+    // Loads the balances into store and returns the snapshot's lsn, or 0 if there is no snapshot yet
+    public static long load(Path file, AccountStore store) throws IOException {
+        if (!Files.exists(file)) {
+            return 0;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER);
+            int magic = header.getInt();
+            int version = header.getInt();
+            int accounts = header.getInt();
+            header.getInt();
+            long lsn = header.getLong();
+            if (magic != MAGIC || version != VERSION) {
+                throw new IOException(file + " is not a balance snapshot");
+            }
+            if (accounts != store.size()) {
+                throw new IOException("Snapshot has " + accounts + " accounts, store has " + store.size());
+            }
+            long size = HEADER + (long) accounts * Long.BYTES;
+            if (channel.size() != size) {
+                throw new IOException("Snapshot is " + channel.size() + " bytes, expected " + size);
+            }
+
+            int id = 0;
+            for (long position = HEADER; position < size; position += REGION) {
+                MappedByteBuffer region = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(REGION, size - position));
+                LongBuffer values = region.asLongBuffer();
+                int count = values.remaining();
+                store.restore(id, values);
+                id += count;
+            }
+            return lsn;
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.practice.OOPs.Multthreading.Sync.Accounts;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class BalanceSnapshotTestMain {
+
+    public static void main(String[] args) throws Exception {
+        Path dir = Files.createTempDirectory("accounts");
+        int accounts = 1_000_000;
+        int threads = 8;
+        int perThread = 100_000;
+
+        // Writers run while a snapshot is taken every 100 ms
+        long[] before = new long[accounts];
+        try (DurableAccountStore store = DurableAccountStore.open(dir, accounts)) {
+            for (int id = 0; id < accounts; id++) {
+                store.deposit(id, 100_00);
+            }
+            // Stopped with a flag, an interrupt would close the snapshot's FileChannel mid-write
+            AtomicBoolean running = new AtomicBoolean(true);
+            Thread snapshots = new Thread(() -> {
+                try {
+                    while (running.get()) {
+                        store.snapshot();
+                        Thread.sleep(100);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }, "snapshots");
+            snapshots.start();
+            runWorkers(store, accounts, threads, perThread);
+            running.set(false);
+            snapshots.join();
+            // Snapshots stopped, these are the tail the restart has to replay
+            runWorkers(store, accounts, 1, 5_000);
+            for (int id = 0; id < accounts; id++) {
+                before[id] = store.balance(id);
+            }
+        }
+        if (restart(dir, accounts, before, "snapshot + tail") < 5_000) {
+            throw new IllegalStateException("Restart did not replay the tail written after the last snapshot");
+        }
+
+        // The same history without snapshots: restart has to replay all of it
+        Path fullLog = Files.createTempDirectory("accounts");
+        try (DurableAccountStore store = DurableAccountStore.open(fullLog, accounts)) {
+            for (int id = 0; id < accounts; id++) {
+                store.deposit(id, 100_00);
+            }
+            runWorkers(store, accounts, threads, perThread);
+            for (int id = 0; id < accounts; id++) {
+                before[id] = store.balance(id);
+            }
+        }
+        restart(fullLog, accounts, before, "full log");
+
+        // How long writers are held up: the copy under all locks, against the whole snapshot
+        try (DurableAccountStore store = DurableAccountStore.open(dir, accounts)) {
+            long[] copy = new long[accounts];
+            long startTime = System.nanoTime();
+            new AccountStore(accounts).copyBalances(copy, () -> 0);
+            long copyNanos = System.nanoTime() - startTime;
+            startTime = System.nanoTime();
+            store.snapshot();
+            System.out.printf("Snapshot of %,d accounts: locks held %.1f ms, whole snapshot %.1f ms%n",
+                    accounts, copyNanos / 1e6, (System.nanoTime() - startTime) / 1e6);
+        }
+
+        DurableAccountStoreTestMain.deleteDirectory(dir);
+        DurableAccountStoreTestMain.deleteDirectory(fullLog);
+    }
+
+    private static void runWorkers(DurableAccountStore store, int accounts, int threads, int perThread) throws InterruptedException {
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            workers[t] = new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                CompletableFuture<Boolean> last = null;
+                for (int i = 0; i < perThread; i++) {
+                    last = store.transfer(random.nextInt(accounts), random.nextInt(accounts), 1 + random.nextInt(20_00));
+                }
+                if (last != null) {
+                    last.join();
+                }
+            });
+            workers[t].start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+    }
+
+    // Returns the number of replayed records, throws if the balances differ from before
+    private static long restart(Path dir, int accounts, long[] before, String label) throws Exception {
+        long startTime = System.nanoTime();
+        try (DurableAccountStore store = DurableAccountStore.open(dir, accounts)) {
+            long elapsed = System.nanoTime() - startTime;
+            boolean same = true;
+            for (int id = 0; id < accounts; id++) {
+                same &= store.balance(id) == before[id];
+            }
+            System.out.printf("Restart from %-16s snapshot lsn %,9d, replayed %,9d records in %6.1f ms, balances match: %b%n",
+                    label + ":", store.recoveredLsn(), store.replayedRecords(), elapsed / 1e6, same);
+            if (!same) {
+                throw new IllegalStateException("Balances after restart from " + label + " differ");
+            }
+            return store.replayedRecords();
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.practice.OOPs.Multthreading.Sync.Accounts;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/*
+AccountStore whose changes survive a restart.
+
+Every successful operation is applied in memory and appended to the WriteAheadLog while the
+shard lock is held (no I/O under the lock, only a list add). The returned future completes
+once the record is on disk, so a caller that must not lose the operation waits on it, and a
+caller that can tolerate losing the last few milliseconds does not.
+Failed withdrawals/transfers are not logged; their future completes with false right away.
+
+On open, the log is replayed: each record already passed its balance check when it was
+written, so replay just re-adds the amounts.
+
+Replaying from the first record gets slower every day the store runs, so snapshot() writes all
+balances to a BalanceSnapshot together with the lsn they include, starts a new log segment and
+deletes the segments the snapshot covers. A restart maps the snapshot and replays only the log
+written after it, so startup time depends on how long ago the last snapshot was, not on the
+age of the store. The copy takes every shard lock for one pass over the balances (a memory
+copy, ~10 ms per million accounts); the file is written after the locks are released.
+ */
+public class DurableAccountStore implements AutoCloseable {
+
+    static final String SNAPSHOT_FILE = "balances.snapshot";
+
+    private final AccountStore store;
+    private final WriteAheadLog log;
+    private final Path snapshotFile;
+    private final long recoveredLsn;
+    private final long replayedRecords;
+
+    // One snapshot at a time, they share the copy buffer
+    private final ReentrantLock snapshotLock = new ReentrantLock();
+    private long[] snapshotBuffer;
+    private ScheduledExecutorService snapshotTimer;
+
+    private DurableAccountStore(AccountStore store, WriteAheadLog log, Path snapshotFile, long recoveredLsn, long replayedRecords) {
+        this.store = store;
+        this.log = log;
+        this.snapshotFile = snapshotFile;
+        this.recoveredLsn = recoveredLsn;
+        this.replayedRecords = replayedRecords;
+    }
+
+    // directory holds the snapshot and the log segments
+    public static DurableAccountStore open(Path directory, int accounts) throws IOException {
+        AccountStore store = new AccountStore(accounts);
+        Path snapshotFile = directory.resolve(SNAPSHOT_FILE);
+        long snapshotLsn = BalanceSnapshot.load(snapshotFile, store);
+        long[] replayed = new long[1];
+        WriteAheadLog log = WriteAheadLog.open(directory, snapshotLsn, (lsn, type, from, to, cents) -> {
+            replay(store, type, from, to, cents);
+            replayed[0]++;
+        });
+        return new DurableAccountStore(store, log, snapshotFile, snapshotLsn, replayed[0]);
+    }
+
+    static void replay(AccountStore store, byte type, int from, int to, long cents) {
+        switch (type) {
+            case WriteAheadLog.DEPOSIT:
+                store.adjust(from, cents);
+                break;
+            case WriteAheadLog.WITHDRAW:
+                store.adjust(from, -cents);
+                break;
+            case WriteAheadLog.TRANSFER:
+                store.adjust(from, -cents);
+                store.adjust(to, cents);
+                break;
+            default:
+                throw new IllegalStateException("Unknown log record type: " + type);
+        }
+    }
+
+    public CompletableFuture<Long> deposit(int id, long cents) {
+        return store.deposit(id, cents, log::append);
+    }
+
+    public CompletableFuture<Boolean> withdraw(int id, long cents) {
+        return logged(store.withdraw(id, cents, log::append));
+    }
+
+    public CompletableFuture<Boolean> transfer(int from, int to, long cents) {
+        return logged(store.transfer(from, to, cents, log::append));
+    }
+
+    private static CompletableFuture<Boolean> logged(CompletableFuture<Long> durable) {
+        return durable == null ? CompletableFuture.completedFuture(false) : durable.thenApply(lsn -> true);
+    }
+
+    public long balance(int id) {
+        return store.balance(id);
+    }
+
+    public long totalBalance() {
+        return store.totalBalance();
+    }
+
+    /*
+    Writes a snapshot and drops the log segments it makes redundant. Returns the snapshot's lsn.
+    Operations keep running while the file is written; only the in-memory copy blocks them.
+    Don't interrupt the calling thread meanwhile, see BalanceSnapshot: the snapshot would fail
+    (the previous one and the log stay intact).
+     */
+    public long snapshot() throws IOException {
+        snapshotLock.lock();
+        try {
+            if (snapshotBuffer == null) {
+                snapshotBuffer = new long[store.size()];
+            }
+            long lsn = store.copyBalances(snapshotBuffer, log::lastAssignedLsn);
+            // Everything up to lsn ends up in the old segments, later records in the new one
+            CompletableFuture<Long> rolled = log.roll();
+            BalanceSnapshot.write(snapshotFile, lsn, snapshotBuffer, store.size());
+            rolled.join();
+            log.deleteSegmentsUpTo(lsn);
+            return lsn;
+        } finally {
+            snapshotLock.unlock();
+        }
+    }
+
+    // Takes a snapshot every interval on a background thread, until close()
+    public void snapshotEvery(Duration interval) {
+        if (snapshotTimer != null) {
+            throw new IllegalStateException("Snapshots are already scheduled");
+        }
+        snapshotTimer = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "balance-snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+        snapshotTimer.scheduleWithFixedDelay(() -> {
+            try {
+                snapshot();
+            } catch (IOException ex) {
+                // The log still has everything, the next attempt may succeed
+                System.err.println("Snapshot failed: " + ex);
+            }
+        }, interval.toNanos(), interval.toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    public WriteAheadLog log() {
+        return log;
+    }
+
+    // lsn of the snapshot loaded on open (0 = none) and how many log records were replayed on top
+    public long recoveredLsn() {
+        return recoveredLsn;
+    }
+
+    public long replayedRecords() {
+        return replayedRecords;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (snapshotTimer != null) {
+            snapshotTimer.shutdown();
+            try {
+                snapshotTimer.awaitTermination(1, TimeUnit.MINUTES);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        log.close();
+    }
+}
@@ -0,0 +1,78 @@
+package com.practice.OOPs.Multthreading.Sync.Accounts;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Stream;
+
+public class DurableAccountStoreTestMain {
+
+    public static void main(String[] args) throws Exception {
+        Path logDir = Files.createTempDirectory("accounts");
+        int accounts = 10_000;
+        int threads = 32;
+        int perThread = 500;
+
+        long[] before = new long[accounts];
+        try (DurableAccountStore store = DurableAccountStore.open(logDir, accounts)) {
+            for (int id = 0; id < accounts; id++) {
+                store.deposit(id, 100_00);
+            }
+
+            // Every caller waits until its own operation is durable, like a real request would
+            Thread[] workers = new Thread[threads];
+            for (int t = 0; t < threads; t++) {
+                workers[t] = new Thread(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    for (int i = 0; i < perThread; i++) {
+                        int id = random.nextInt(accounts);
+                        if (random.nextBoolean()) {
+                            store.withdraw(id, 1 + random.nextInt(20_00)).join();
+                        } else {
+                            store.transfer(id, random.nextInt(accounts), 1 + random.nextInt(20_00)).join();
+                        }
+                    }
+                });
+            }
+            long syncsBefore = store.log().syncCount();
+            long startTime = System.currentTimeMillis();
+            for (Thread worker : workers) {
+                worker.start();
+            }
+            for (Thread worker : workers) {
+                worker.join();
+            }
+            long elapsed = System.currentTimeMillis() - startTime;
+            long syncs = store.log().syncCount() - syncsBefore;
+            System.out.printf("%,d durable operations in %d ms (%,d/s), %,d fsyncs, %.1f operations per fsync%n",
+                    threads * perThread, elapsed, threads * perThread * 1000L / Math.max(1, elapsed), syncs,
+                    (double) threads * perThread / Math.max(1, syncs));
+
+            for (int id = 0; id < accounts; id++) {
+                before[id] = store.balance(id);
+            }
+        }
+
+        // "Restart": a fresh store rebuilt only from the log
+        long startTime = System.currentTimeMillis();
+        try (DurableAccountStore store = DurableAccountStore.open(logDir, accounts)) {
+            boolean same = true;
+            for (int id = 0; id < accounts; id++) {
+                same &= store.balance(id) == before[id];
+            }
+            System.out.println("Replayed " + store.log().durableLsn() + " records in " + (System.currentTimeMillis() - startTime)
+                    + " ms, balances match: " + same);
+        }
+        deleteDirectory(logDir);
+    }
+
+    static void deleteDirectory(Path directory) throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(file);
+            }
+        }
+    }
+}
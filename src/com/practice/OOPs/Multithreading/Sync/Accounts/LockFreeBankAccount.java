@@ -0,0 +1,88 @@
+package com.practice.OOPs.Multthreading.Sync.Accounts;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+Bank account without a lock.
+
+SyncIssue.BankAccount keeps the monitor for the whole 10 second "db work", RentalLocks.BankAccount
+keeps a ReentrantLock for 1 second, so withdrawals on one account run strictly one at a time.
+Here only the balance check + update is atomic, done with compare-and-set:
+
+  1. read balance, check it covers the amount, CAS(balance, balance - amount)
+     another thread changed it in between -> CAS fails -> read again and retry
+  2. do the slow business work with no lock held, other withdrawals go ahead in parallel
+  3. business work failed -> compensate by giving the money back
+
+The money is reserved before the slow step, so the balance can never go negative.
+ */
+public class LockFreeBankAccount {
+
+    private final AtomicLong balance;
+    private final LongAdder casRetries = new LongAdder();
+    private final LongAdder compensations = new LongAdder();
+
+    public LockFreeBankAccount(long initialBalance) {
+        if (initialBalance < 0) {
+            throw new IllegalArgumentException("Initial balance must not be negative: " + initialBalance);
+        }
+        this.balance = new AtomicLong(initialBalance);
+    }
+
+    public boolean withdraw(long amount) {
+        return reserve(amount);
+    }
+
+    // Withdraws, then runs businessWork outside any lock; if it throws, the money goes back.
+    // false = insufficient balance, businessWork did not run
+    public boolean withdraw(long amount, Callable<?> businessWork) throws Exception {
+        if (!reserve(amount)) {
+            return false;
+        }
+        try {
+            businessWork.call();
+            return true;
+        } catch (Exception | Error ex) {
+            deposit(amount); // compensation
+            compensations.increment();
+            throw ex;
+        }
+    }
+
+    public void deposit(long amount) {
+        if (amount <= 0) {
+            throw new IllegalArgumentException("Amount must be positive: " + amount);
+        }
+        balance.addAndGet(amount);
+    }
+
+    private boolean reserve(long amount) {
+        if (amount <= 0) {
+            throw new IllegalArgumentException("Amount must be positive: " + amount);
+        }
+        while (true) {
+            long current = balance.get();
+            if (current < amount) {
+                return false;
+            }
+            if (balance.compareAndSet(current, current - amount)) {
+                return true;
+            }
+            casRetries.increment(); // lost the race, somebody else changed the balance first
+        }
+    }
+
+    public long getBalance() {
+        return balance.get();
+    }
+
+    public long getCasRetries() {
+        return casRetries.sum();
+    }
+
+    public long getCompensations() {
+        return compensations.sum();
+    }
+}
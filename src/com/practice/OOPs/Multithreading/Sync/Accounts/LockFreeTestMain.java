@@ -0,0 +1,78 @@
+package com.practice.OOPs.Multthreading.Sync.Accounts;
+
+/*
+Withdrawals on one hot account, each followed by 5 ms of "db work":
+  monitor  -> work inside synchronized, like SyncIssue.BankAccount: one withdrawal at a time
+  lock-free -> work after the CAS, withdrawals overlap
+Every 10th db call fails to show the compensation path.
+ */
+public class LockFreeTestMain {
+
+    // Same shape as SyncIssue.BankAccount, with a shorter sleep
+    static class MonitorAccount {
+        private long balance;
+
+        MonitorAccount(long balance) {
+            this.balance = balance;
+        }
+
+        public synchronized boolean withdraw(long amount) throws InterruptedException {
+            if (balance < amount) {
+                return false;
+            }
+            balance -= amount;
+            Thread.sleep(5); //doing some business logic working in db
+            return true;
+        }
+    }
+
+    interface Withdrawal {
+        void run(int i) throws Exception;
+    }
+
+    private static long run(int threads, int perThread, Withdrawal withdrawal) throws InterruptedException {
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            workers[t] = new Thread(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    try {
+                        withdrawal.run(i);
+                    } catch (Exception ex) {
+                        // failed db call, already compensated
+                    }
+                }
+            }, "Thread " + (t + 1));
+        }
+        long startTime = System.currentTimeMillis();
+        for (Thread worker : workers) {
+            worker.start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        return System.currentTimeMillis() - startTime;
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        int perThread = 20;
+        for (int threads = 1; threads <= 32; threads *= 2) {
+            MonitorAccount monitor = new MonitorAccount(1_000_000);
+            long monitorMs = run(threads, perThread, i -> monitor.withdraw(10));
+
+            LockFreeBankAccount lockFree = new LockFreeBankAccount(1_000_000);
+            long lockFreeMs = run(threads, perThread, i -> lockFree.withdraw(10, () -> {
+                Thread.sleep(5); //doing some business logic working in db
+                if (i % 10 == 9) {
+                    throw new IllegalStateException("db write failed");
+                }
+                return null;
+            }));
+
+            int total = threads * perThread;
+            long expected = 1_000_000 - 10L * (total - total / 10);
+            System.out.printf("%2d threads: monitor %,5d withdrawals/s, lock-free %,6d withdrawals/s (balance ok: %b, retries %d, compensations %d)%n",
+                    threads, total * 1000L / Math.max(1, monitorMs), total * 1000L / Math.max(1, lockFreeMs),
+                    lockFree.getBalance() == expected, lockFree.getCasRetries(), lockFree.getCompensations());
+        }
+    }
+}
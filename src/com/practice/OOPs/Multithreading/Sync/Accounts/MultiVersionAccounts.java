@@ -0,0 +1,306 @@
+package com.practice.OOPs.Multthreading.Sync.Accounts;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/*
+Accounts where a report can read every balance as of one moment while transfers keep running.
+
+With RentalLocks.BankAccount a consistent total means holding every account's lock while
+adding up, and no withdrawal can run meanwhile. Here a write never overwrites a balance: it
+pushes a new Version (balance + commit number) on the front of that account's list.
+A reader takes the latest fully committed number as its snapshot and, for every account, walks
+the list to the newest version not newer than that. Readers take no account locks at all, and
+writers never wait for readers.
+
+Commit numbers: while holding its account locks a writer first installs its versions marked
+pending, then draws the next number and stamps it on them. A reader's snapshot is the last
+number drawn, so every version numbered up to it was installed before the snapshot began. If a
+reader meets a pending version it waits the few nanoseconds until it is stamped; the writer
+never waits for anybody. A transfer's two versions share one number: a snapshot sees both or
+neither.
+
+Reclamation: an open snapshot pins its number (its epoch). The horizon is the oldest pinned
+number, or the last commit number when nothing is pinned. Per account, everything behind the newest
+version at or below the horizon can never be read again, and writers cut it off when they add
+a version. Pinning and horizon updates share a small lock that only snapshots and an occasional
+tryLock from writers touch, so the transfer path never blocks on reporting.
+ */
+public class MultiVersionAccounts {
+
+    private static final long PENDING = Long.MAX_VALUE;
+
+    private static final class Version {
+        final long balance;
+        volatile long commit;
+        Version older; // cut to null once unreachable, a reader never walks that far
+
+        Version(long balance, long commit, Version older) {
+            this.balance = balance;
+            this.commit = commit;
+            this.older = older;
+        }
+    }
+
+    // Writers try to move the horizon forward once every this many commits
+    private static final int HORIZON_INTERVAL = 1024;
+
+    private final AtomicReferenceArray<Version> heads;
+    private final ReentrantLock[] locks;
+    private final int lockMask;
+
+    private final AtomicLong lastCommit = new AtomicLong();
+
+    private final ReentrantLock epochLock = new ReentrantLock();
+    private final TreeMap<Long, Integer> pinned = new TreeMap<>(); // commit -> open snapshots
+    private volatile long horizon;
+
+    private final LongAdder reclaimed = new LongAdder();
+
+    public MultiVersionAccounts(int accounts, long initialCents) {
+        this(accounts, initialCents, Runtime.getRuntime().availableProcessors() * 16);
+    }
+
+    public MultiVersionAccounts(int accounts, long initialCents, int lockStripes) {
+        if (accounts < 0 || initialCents < 0 || lockStripes < 1) {
+            throw new IllegalArgumentException("Invalid accounts: " + accounts + " x " + initialCents + " cents, " + lockStripes + " stripes");
+        }
+        heads = new AtomicReferenceArray<>(accounts);
+        Version initial = new Version(initialCents, 0, null);
+        for (int id = 0; id < accounts; id++) {
+            heads.set(id, initial);
+        }
+        int size = Integer.highestOneBit(Math.max(1, lockStripes - 1)) << 1;
+        locks = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        lockMask = size - 1;
+    }
+
+    public int size() {
+        return heads.length();
+    }
+
+    // Newest balance, not a snapshot: the other half of a transfer may not be there yet
+    public long balance(int id) {
+        return heads.get(checkId(id)).balance;
+    }
+
+    public void deposit(int id, long cents) {
+        checkAmount(cents);
+        ReentrantLock lock = locks[checkId(id) & lockMask];
+        lock.lock();
+        try {
+            Version version = install(id, Math.addExact(heads.get(id).balance, cents));
+            commit(version, null);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean withdraw(int id, long cents) {
+        checkAmount(cents);
+        ReentrantLock lock = locks[checkId(id) & lockMask];
+        lock.lock();
+        try {
+            long balance = heads.get(id).balance;
+            if (balance < cents) {
+                return false;
+            }
+            commit(install(id, balance - cents), null);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean transfer(int from, int to, long cents) {
+        checkAmount(cents);
+        checkId(from);
+        checkId(to);
+        if (from == to) {
+            return heads.get(from).balance >= cents;
+        }
+        // Stripes in index order, so opposite transfers can't deadlock
+        int a = from & lockMask;
+        int b = to & lockMask;
+        ReentrantLock first = locks[Math.min(a, b)];
+        ReentrantLock second = locks[Math.max(a, b)];
+        first.lock();
+        try {
+            if (a != b) {
+                second.lock();
+            }
+            try {
+                long fromBalance = heads.get(from).balance;
+                if (fromBalance < cents) {
+                    return false;
+                }
+                Version debit = install(from, fromBalance - cents);
+                Version credit = install(to, Math.addExact(heads.get(to).balance, cents));
+                commit(debit, credit);
+                return true;
+            } finally {
+                if (a != b) {
+                    second.unlock();
+                }
+            }
+        } finally {
+            first.unlock();
+        }
+    }
+
+    // Caller holds the account's stripe lock
+    private Version install(int id, long balance) {
+        Version version = new Version(balance, PENDING, heads.get(id));
+        heads.set(id, version);
+        return version;
+    }
+
+    // Stamps the installed versions with one commit number, then trims their lists
+    private void commit(Version version, Version other) {
+        long commit = lastCommit.incrementAndGet();
+        version.commit = commit;
+        if (other != null) {
+            other.commit = commit;
+        }
+        long oldest = horizon;
+        trim(version, oldest);
+        if (other != null) {
+            trim(other, oldest);
+        }
+        if ((commit & (HORIZON_INTERVAL - 1)) == 0) {
+            advanceHorizon(false);
+        }
+    }
+
+    // Keeps the newest version a snapshot at the horizon could still read, drops what is behind it
+    private void trim(Version head, long oldest) {
+        Version keep = head;
+        while (keep.commit > oldest && keep.older != null) {
+            keep = keep.older;
+        }
+        if (keep.older != null) {
+            for (Version dropped = keep.older; dropped != null; dropped = dropped.older) {
+                reclaimed.increment();
+            }
+            keep.older = null;
+        }
+    }
+
+    // Recomputes the horizon; writers skip it if a snapshot is opening or closing right now
+    private void advanceHorizon(boolean wait) {
+        if (wait) {
+            epochLock.lock();
+        } else if (!epochLock.tryLock()) {
+            return;
+        }
+        try {
+            horizon = pinned.isEmpty() ? lastCommit.get() : pinned.firstKey();
+        } finally {
+            epochLock.unlock();
+        }
+    }
+
+    // Point-in-time view; close it when done so old versions can be reclaimed
+    public Snapshot snapshot() {
+        epochLock.lock();
+        try {
+            // Under epochLock the horizon can't pass this number before it is pinned
+            long commit = lastCommit.get();
+            pinned.merge(commit, 1, Integer::sum);
+            return new Snapshot(commit);
+        } finally {
+            epochLock.unlock();
+        }
+    }
+
+    public class Snapshot implements AutoCloseable {
+        private final long commit;
+        private boolean closed;
+
+        private Snapshot(long commit) {
+            this.commit = commit;
+        }
+
+        public long commit() {
+            return commit;
+        }
+
+        public long balance(int id) {
+            if (closed) {
+                throw new IllegalStateException("Snapshot is closed");
+            }
+            Version version = heads.get(checkId(id));
+            while (true) {
+                long stamp = version.commit;
+                while (stamp == PENDING) {
+                    // Installed but not stamped yet, its writer is a few instructions away
+                    Thread.onSpinWait();
+                    stamp = version.commit;
+                }
+                if (stamp <= commit) {
+                    return version.balance;
+                }
+                version = version.older;
+            }
+        }
+
+        // Sum of every balance as of this snapshot, exact even while transfers run
+        public long totalBalance() {
+            long total = 0;
+            for (int id = 0; id < heads.length(); id++) {
+                total += balance(id);
+            }
+            return total;
+        }
+
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            epochLock.lock();
+            try {
+                pinned.computeIfPresent(commit, (key, count) -> count == 1 ? null : count - 1);
+            } finally {
+                epochLock.unlock();
+            }
+            advanceHorizon(true);
+        }
+    }
+
+    // Commit number of the oldest open snapshot, or -1 if none
+    public long oldestPinned() {
+        epochLock.lock();
+        try {
+            Map.Entry<Long, Integer> oldest = pinned.firstEntry();
+            return oldest == null ? -1 : oldest.getKey();
+        } finally {
+            epochLock.unlock();
+        }
+    }
+
+    public long reclaimedVersions() {
+        return reclaimed.sum();
+    }
+
+    private int checkId(int id) {
+        if (id < 0 || id >= heads.length()) {
+            throw new IllegalArgumentException("No such account: " + id);
+        }
+        return id;
+    }
+
+    private static void checkAmount(long cents) {
+        if (cents <= 0) {
+            throw new IllegalArgumentException("Amount must be positive: " + cents);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.practice.OOPs.Multthreading.Sync.Accounts;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+public class MultiVersionTestMain {
+
+    private static final int ACCOUNTS = 100_000;
+    private static final long INITIAL = 100_00;
+
+    public static void main(String[] args) throws InterruptedException {
+        int writers = 4;
+        long millis = 2000;
+
+        // Baseline: transfers alone
+        MultiVersionAccounts quiet = new MultiVersionAccounts(ACCOUNTS, INITIAL);
+        long alone = run(quiet, writers, 0, millis);
+        System.out.printf("Transfers, no reports:   %,10d/s%n", alone * 1000 / millis);
+
+        // Same load with two threads producing totals back to back the whole time
+        MultiVersionAccounts busy = new MultiVersionAccounts(ACCOUNTS, INITIAL);
+        long withReports = run(busy, writers, 2, millis);
+        System.out.printf("Transfers, with reports: %,10d/s, reclaimed versions: %,d, oldest open snapshot: %d%n",
+                withReports * 1000 / millis, busy.reclaimedVersions(), busy.oldestPinned());
+
+    }
+
+    private static long run(MultiVersionAccounts accounts, int writers, int reporters, long millis) throws InterruptedException {
+        AtomicBoolean stop = new AtomicBoolean();
+        LongAdder transfers = new LongAdder();
+        LongAdder reports = new LongAdder();
+        Thread[] threads = new Thread[writers + reporters];
+
+        for (int t = 0; t < writers; t++) {
+            threads[t] = new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                while (!stop.get()) {
+                    accounts.transfer(random.nextInt(ACCOUNTS), random.nextInt(ACCOUNTS), 1 + random.nextInt(50_00));
+                    transfers.increment();
+                }
+            });
+        }
+        for (int t = writers; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                while (!stop.get()) {
+                    try (MultiVersionAccounts.Snapshot snapshot = accounts.snapshot()) {
+                        long total = snapshot.totalBalance();
+                        // Transfers move money around, a consistent total never changes
+                        if (total != ACCOUNTS * INITIAL) {
+                            throw new IllegalStateException("Inconsistent total " + total + " at commit " + snapshot.commit());
+                        }
+                    }
+                    reports.increment();
+                }
+            });
+        }
+
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        Thread.sleep(millis);
+        stop.set(true);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        if (reporters > 0) {
+            System.out.println(reports.sum() + " consistent totals of " + ACCOUNTS + " accounts taken during the run");
+        }
+        return transfers.sum();
+    }
+}
@@ -0,0 +1,405 @@
+package com.practice.OOPs.Multthreading.Sync.Accounts;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AccessDeniedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
+
+/*
+Append-only log of account operations with group commit.
+
+RentalLocks.BankAccount fakes the db write with Thread.sleep(1000) while holding the lock.
+Here append() only puts the record in a pending list (microseconds, fine under a lock) and
+returns a future. One flusher thread takes everything pending, writes it with one write() and
+makes it durable with one fsync (force), then completes all those futures. While that fsync
+runs, new appends pile up and go out together in the next one, so under load one fsync
+covers many operations.
+
+Record layout, 29 bytes, big endian:
+  lsn (8) | type (1) | from (4) | to (4) | cents (8) | crc32 of the first 25 bytes (4)
+On open the log is read back; a torn or corrupt record at the end (crash mid-write) and
+anything after it is cut off.
+
+The log is a directory of segments named wal-<first lsn>.log. roll() starts a new segment, so
+once a snapshot covers everything up to some lsn, deleteSegmentsUpTo() can drop the old files
+and a restart only reads what came after the snapshot.
+ */
+public class WriteAheadLog implements AutoCloseable {
+
+    static final byte DEPOSIT = 1;
+    static final byte WITHDRAW = 2;
+    static final byte TRANSFER = 3;
+
+    static final int RECORD_SIZE = 29;
+    private static final int BATCH_BUFFER_RECORDS = 4096;
+
+    public interface RecordHandler {
+        void apply(long lsn, byte type, int from, int to, long cents);
+    }
+
+    private static final class Pending {
+        final long lsn;
+        final byte type;
+        final int from;
+        final int to;
+        final long cents;
+        final CompletableFuture<Long> durable = new CompletableFuture<>();
+
+        Pending(long lsn, byte type, int from, int to, long cents) {
+            this.lsn = lsn;
+            this.type = type;
+            this.from = from;
+            this.to = to;
+            this.cents = cents;
+        }
+    }
+
+    private final Path directory;
+    // first lsn -> segment file, the last entry is the one being appended to
+    private final TreeMap<Long, Path> segments;
+    private FileChannel channel; // flusher thread only, after the constructor
+    private long activeFirstLsn; // first lsn of the segment channel writes to, flusher thread only too
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition hasWork = lock.newCondition();
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(RECORD_SIZE * BATCH_BUFFER_RECORDS);
+    private final CRC32 crc = new CRC32();
+    private final Thread flusher;
+
+    private List<Pending> pending = new ArrayList<>();
+    private long nextLsn;
+    private boolean closed;
+    private IOException failure;
+    private CompletableFuture<Long> rollRequest;
+
+    private volatile long durableLsn;
+    private volatile long syncCount;
+    private volatile long recordCount;
+
+    private WriteAheadLog(Path directory, TreeMap<Long, Path> segments, FileChannel channel, long lastLsn) {
+        this.directory = directory;
+        this.segments = segments;
+        this.channel = channel;
+        this.activeFirstLsn = segments.lastKey();
+        this.nextLsn = lastLsn + 1;
+        this.durableLsn = lastLsn;
+        this.flusher = new Thread(this::flushLoop, "wal-flusher");
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+
+    public static WriteAheadLog open(Path directory, RecordHandler handler) throws IOException {
+        return open(directory, 0, handler);
+    }
+
+    /*
+    Replays records with lsn > afterLsn into handler (afterLsn = what a snapshot already covers),
+    then opens the last segment for appending. Segments that end at or before afterLsn are
+    skipped without being read. Throws if the oldest segment kept starts after afterLsn + 1,
+    the records in between are gone and the balances would silently miss them.
+     */
+    public static WriteAheadLog open(Path directory, long afterLsn, RecordHandler handler) throws IOException {
+        Files.createDirectories(directory);
+        TreeMap<Long, Path> segments = new TreeMap<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "wal-*.log")) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                segments.put(Long.parseLong(name.substring(4, name.length() - 4)), file);
+            }
+        }
+
+        long lastLsn = afterLsn;
+        long activeLast = afterLsn; // last record in the newest segment
+        Long next = segments.isEmpty() ? null : segments.firstKey();
+        boolean reading = false;
+        while (next != null) {
+            long first = next;
+            next = segments.higherKey(first);
+            if (next != null && next - 1 <= afterLsn) {
+                continue; // whole segment is older than the snapshot
+            }
+            if (!reading && first > afterLsn + 1) {
+                throw new IOException("Log records " + (afterLsn + 1) + " to " + (first - 1)
+                        + " are missing, the oldest segment " + segments.get(first) + " starts at lsn " + first);
+            }
+            reading = true;
+            try (FileChannel segment = FileChannel.open(segments.get(first), StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                long[] end = replay(segment, first, afterLsn, handler);
+                segment.truncate(end[0]);
+                if (next != null && end[1] != next - 1) {
+                    // A damaged segment followed by newer ones would leave a gap in history
+                    throw new IOException("Log segment " + segments.get(first) + " is damaged before lsn " + (next - 1));
+                }
+                lastLsn = Math.max(lastLsn, end[1]);
+                activeLast = end[1];
+            }
+        }
+
+        // The snapshot can be ahead of the log (records it saw were never fsynced), then appending
+        // to the old segment would leave a gap, so the next lsn starts a segment of its own
+        if (segments.isEmpty() || activeLast < lastLsn) {
+            segments.put(lastLsn + 1, segmentPath(directory, lastLsn + 1));
+        }
+        FileChannel channel = FileChannel.open(segments.lastEntry().getValue(), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        channel.position(channel.size());
+        forceDirectory(directory);
+        return new WriteAheadLog(directory, segments, channel, lastLsn);
+    }
+
+    // Forcing a file doesn't make its name durable, a created or renamed file needs its directory forced too
+    static void forceDirectory(Path directory) throws IOException {
+        FileChannel channel;
+        try {
+            channel = FileChannel.open(directory, StandardOpenOption.READ);
+        } catch (AccessDeniedException ex) {
+            return; // Windows can't open a directory as a channel, there is nothing to force
+        }
+        try (channel) {
+            channel.force(true);
+        }
+    }
+
+    private static Path segmentPath(Path directory, long firstLsn) {
+        return directory.resolve(String.format("wal-%020d.log", firstLsn));
+    }
+
+    // Returns {bytes of valid records, last lsn}; only records after afterLsn go to the handler
+    private static long[] replay(FileChannel channel, long firstLsn, long afterLsn, RecordHandler handler) throws IOException {
+        ByteBuffer in = ByteBuffer.allocate(RECORD_SIZE * BATCH_BUFFER_RECORDS);
+        CRC32 check = new CRC32();
+        long position = 0;
+        long lastLsn = firstLsn - 1;
+        channel.position(0);
+        while (channel.read(in) > 0 || in.position() > 0) {
+            in.flip();
+            if (in.remaining() < RECORD_SIZE) {
+                break; // torn record at the end
+            }
+            while (in.remaining() >= RECORD_SIZE) {
+                int start = in.position();
+                long lsn = in.getLong();
+                byte type = in.get();
+                int from = in.getInt();
+                int to = in.getInt();
+                long cents = in.getLong();
+                int storedCrc = in.getInt();
+
+                check.reset();
+                check.update(in.duplicate().position(start).limit(start + RECORD_SIZE - 4));
+                if ((int) check.getValue() != storedCrc || lsn != lastLsn + 1) {
+                    return new long[]{position, lastLsn}; // corrupt tail
+                }
+                if (lsn > afterLsn) {
+                    handler.apply(lsn, type, from, to, cents);
+                }
+                lastLsn = lsn;
+                position += RECORD_SIZE;
+            }
+            in.compact();
+        }
+        return new long[]{position, lastLsn};
+    }
+
+    // Queues the record; the future completes with its lsn once it is on disk
+    public CompletableFuture<Long> append(byte type, int from, int to, long cents) {
+        lock.lock();
+        try {
+            if (closed) {
+                throw new IllegalStateException("Log is closed");
+            }
+            if (failure != null) {
+                return CompletableFuture.failedFuture(failure);
+            }
+            Pending record = new Pending(nextLsn++, type, from, to, cents);
+            pending.add(record);
+            if (pending.size() == 1) {
+                hasWork.signal();
+            }
+            return record.durable;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void flushLoop() {
+        while (true) {
+            List<Pending> batch;
+            CompletableFuture<Long> roll;
+            long rollAt;
+            lock.lock();
+            try {
+                while (pending.isEmpty() && rollRequest == null && !closed) {
+                    hasWork.awaitUninterruptibly();
+                }
+                if (pending.isEmpty() && rollRequest == null) {
+                    return; // closed and drained
+                }
+                batch = pending;
+                pending = new ArrayList<>();
+                roll = rollRequest;
+                rollRequest = null;
+                rollAt = nextLsn; // everything before this is in batch or already written
+            } finally {
+                lock.unlock();
+            }
+
+            try {
+                if (!batch.isEmpty()) {
+                    write(batch);
+                    channel.force(false); // the one fsync for the whole batch
+                    syncCount++;
+                    recordCount += batch.size();
+                    durableLsn = batch.get(batch.size() - 1).lsn;
+                    for (Pending record : batch) {
+                        record.durable.complete(record.lsn);
+                    }
+                }
+                if (roll != null) {
+                    startSegment(rollAt);
+                    roll.complete(rollAt);
+                }
+            } catch (IOException ex) {
+                lock.lock();
+                try {
+                    failure = ex;
+                } finally {
+                    lock.unlock();
+                }
+                for (Pending record : batch) {
+                    record.durable.completeExceptionally(ex);
+                }
+                if (roll != null) {
+                    roll.completeExceptionally(ex);
+                }
+            }
+        }
+    }
+
+    private void startSegment(long firstLsn) throws IOException {
+        // Not segments.lastKey(): deleteSegmentsUpTo changes the map from other threads
+        if (activeFirstLsn == firstLsn) {
+            return; // current segment is still empty, nothing to roll
+        }
+        Path file = segmentPath(directory, firstLsn);
+        FileChannel next = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        forceDirectory(directory); // records acknowledged from this file must not vanish with its name
+        channel.close();
+        channel = next;
+        activeFirstLsn = firstLsn;
+        synchronized (segments) {
+            segments.put(firstLsn, file);
+        }
+    }
+
+    /*
+    Starts a new segment at the next lsn. Every record appended before this call stays in the
+    old segments. Completes with the first lsn of the new segment.
+     */
+    public CompletableFuture<Long> roll() {
+        lock.lock();
+        try {
+            if (closed) {
+                throw new IllegalStateException("Log is closed");
+            }
+            if (rollRequest == null) {
+                rollRequest = new CompletableFuture<>();
+                hasWork.signal();
+            }
+            return rollRequest;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Deletes segments whose records are all <= lsn; the active segment is never deleted
+    public int deleteSegmentsUpTo(long lsn) throws IOException {
+        List<Path> obsolete = new ArrayList<>();
+        synchronized (segments) {
+            Long first = segments.firstKey();
+            Long next = segments.higherKey(first);
+            while (next != null && next - 1 <= lsn) {
+                obsolete.add(segments.remove(first));
+                first = next;
+                next = segments.higherKey(first);
+            }
+        }
+        for (Path file : obsolete) {
+            Files.deleteIfExists(file);
+        }
+        return obsolete.size();
+    }
+
+    // Highest lsn handed out so far, durable or not
+    long lastAssignedLsn() {
+        lock.lock();
+        try {
+            return nextLsn - 1;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void write(List<Pending> batch) throws IOException {
+        buffer.clear();
+        for (Pending record : batch) {
+            if (buffer.remaining() < RECORD_SIZE) {
+                drainBuffer();
+            }
+            int start = buffer.position();
+            buffer.putLong(record.lsn).put(record.type).putInt(record.from).putInt(record.to).putLong(record.cents);
+            crc.reset();
+            crc.update(buffer.duplicate().position(start).limit(start + RECORD_SIZE - 4));
+            buffer.putInt((int) crc.getValue());
+        }
+        drainBuffer();
+    }
+
+    private void drainBuffer() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    // Last lsn known to be on disk
+    public long durableLsn() {
+        return durableLsn;
+    }
+
+    public long syncCount() {
+        return syncCount;
+    }
+
+    public long recordCount() {
+        return recordCount;
+    }
+
+    // Waits for everything appended so far to be written, then closes the file
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            closed = true;
+            hasWork.signal();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            flusher.join();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        channel.close();
+    }
+}
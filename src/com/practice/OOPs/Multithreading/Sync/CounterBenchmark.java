@@ -0,0 +1,61 @@
+package com.practice.OOPs.Multthreading.Sync;
+
+import com.practice.OOPs.Multithreading.VolitileAndAtomic.AtomicExample;
+
+/*
+Increments per second for 1..N threads:
+  Counter        -> synchronized(this), one monitor for everybody
+  AtomicClass    -> one AtomicInteger, CAS retries pile up on one cache line
+  StripedCounter -> per-thread padded cells, summed on read
+Usage: CounterBenchmark [maxThreads] [incrementsPerThread]
+ */
+public class CounterBenchmark {
+
+    interface Incrementer {
+        void increment();
+    }
+
+    private static double run(Incrementer counter, int threads, int perThread) throws InterruptedException {
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            workers[t] = new Thread(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    counter.increment();
+                }
+            });
+        }
+        long startTime = System.nanoTime();
+        for (Thread worker : workers) {
+            worker.start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        long elapsed = System.nanoTime() - startTime;
+        return (double) threads * perThread / elapsed * 1000; // million ops per second
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        int maxThreads = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors() * 2;
+        int perThread = args.length > 1 ? Integer.parseInt(args[1]) : 5_000_000;
+
+        System.out.printf("%8s %16s %16s %16s%n", "threads", "Counter", "AtomicClass", "StripedCounter");
+        for (int threads = 1; threads <= maxThreads; threads *= 2) {
+            // Fresh counters each round, run once to warm up and once to measure
+            double[] results = new double[3];
+            for (int round = 0; round < 2; round++) {
+                Counter counter = new Counter();
+                AtomicExample.AtomicClass atomic = new AtomicExample.AtomicClass();
+                StripedCounter striped = new StripedCounter();
+                results[0] = run(counter::increment, threads, perThread);
+                results[1] = run(atomic::inc, threads, perThread);
+                results[2] = run(striped::increment, threads, perThread);
+
+                if (counter.getCount() != threads * perThread || striped.getCount() != threads * perThread) {
+                    throw new IllegalStateException("Lost updates: " + counter.getCount() + ", " + striped.getCount());
+                }
+            }
+            System.out.printf("%8d %12.1f M/s %12.1f M/s %12.1f M/s%n", threads, results[0], results[1], results[2]);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.practice.OOPs.Multthreading.Sync.Deadlocks;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/*
+Takes several locks at once without the circular wait from DeadlockExample.
+
+acquireAll: every caller sorts the locks by System.identityHashCode before locking, so two
+threads asking for {pen, paper} and {paper, pen} both lock in the same order and can't end up
+holding one each. identityHashCode never changes for an object but two objects can share one;
+callers with such a tie first take one global TIE_LOCK, which puts those pairs in order too.
+
+tryAcquireAll: tryLock each lock, and if one is busy let go of everything held so far, wait a
+random time that doubles with every failure (so two colliding threads drift apart instead of
+colliding again in lockstep) and start over. Never waits while holding anything, gives up at
+the deadline.
+
+Both return a Held to use with try-with-resources; it unlocks in reverse order.
+ */
+public final class OrderedLocks {
+
+    private static final Lock TIE_LOCK = new ReentrantLock();
+    private static final Comparator<Lock> ORDER = Comparator.comparingInt(System::identityHashCode);
+    private static final long MAX_BACK_OFF = 1_000_000; // 1 ms
+
+    private OrderedLocks() {
+    }
+
+    public static final class Held implements AutoCloseable {
+        private final Lock[] locks;
+        private int count;
+
+        private Held(Lock[] locks) {
+            this.locks = locks;
+        }
+
+        @Override
+        public void close() {
+            while (count > 0) {
+                locks[--count].unlock();
+            }
+        }
+    }
+
+    public static Held acquireAll(Lock... locks) {
+        Lock[] ordered = ordered(locks);
+        Held held = new Held(ordered);
+        try {
+            for (Lock lock : ordered) {
+                lock.lock();
+                held.count++;
+            }
+        } catch (RuntimeException | Error ex) {
+            held.close();
+            throw ex;
+        }
+        return held;
+    }
+
+    // Returns null if the locks could not all be taken before the timeout, holding none of them
+    public static Held tryAcquireAll(Duration timeout, Lock... locks) throws InterruptedException {
+        Lock[] ordered = ordered(locks);
+        long deadline = System.nanoTime() + timeout.toNanos();
+        long backOff = 1_000; // ns, doubles up to MAX_BACK_OFF
+        while (true) {
+            Held held = new Held(ordered);
+            for (Lock lock : ordered) {
+                if (!lock.tryLock()) {
+                    break;
+                }
+                held.count++;
+            }
+            if (held.count == ordered.length) {
+                return held;
+            }
+            held.close();
+
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return null;
+            }
+            LockSupport.parkNanos(Math.min(remaining, ThreadLocalRandom.current().nextLong(backOff) + 1));
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            backOff = Math.min(backOff * 2, MAX_BACK_OFF);
+        }
+    }
+
+    // Sorted copy without duplicates, TIE_LOCK in front if two locks share an identity hash
+    private static Lock[] ordered(Lock[] locks) {
+        if (locks.length == 2 && locks[0] != locks[1]) {
+            // Most common case (pen + paper), no sort needed
+            int first = System.identityHashCode(locks[0]);
+            int second = System.identityHashCode(locks[1]);
+            if (first < second) {
+                return new Lock[]{locks[0], locks[1]};
+            } else if (first > second) {
+                return new Lock[]{locks[1], locks[0]};
+            }
+        }
+        Lock[] sorted = locks.clone();
+        Arrays.sort(sorted, ORDER);
+        int size = 0;
+        boolean tie = false;
+        next:
+        for (int i = 0; i < sorted.length; i++) {
+            int hash = System.identityHashCode(sorted[i]);
+            for (int j = size - 1; j >= 0 && System.identityHashCode(sorted[j]) == hash; j--) {
+                if (sorted[j] == sorted[i]) {
+                    continue next; // same lock passed twice, lock it once
+                }
+                tie = true;
+            }
+            sorted[size++] = sorted[i];
+        }
+        if (!tie) {
+            return Arrays.copyOf(sorted, size);
+        }
+        Lock[] withTie = new Lock[size + 1];
+        withTie[0] = TIE_LOCK;
+        System.arraycopy(sorted, 0, withTie, 1, size);
+        return withTie;
+    }
+}
@@ -0,0 +1,158 @@
+package com.practice.OOPs.Multthreading.Sync.Deadlocks;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/*
+Operations that each need two of a few shared resources (think pen + paper out of a small
+pool), taken in random order, for 1..N threads:
+  nested monitors -> synchronized(a) { synchronized(b) }, the DeadlockExample way; sooner or later
+                     two threads hold one each and everything stops
+  global lock     -> one lock for every operation, safe but only one operation at a time
+  acquireAll      -> OrderedLocks, both resource locks in global order
+  tryAcquireAll   -> OrderedLocks, tryLock + random back-off
+Usage: OrderedLocksBenchmark [maxThreads] [resources] [millisPerRun]
+ */
+public class OrderedLocksBenchmark {
+
+    static final class Resource {
+        final ReentrantLock lock = new ReentrantLock();
+        long uses;
+    }
+
+    interface Operation {
+        void run(Resource a, Resource b) throws InterruptedException;
+    }
+
+    private static final Lock GLOBAL = new ReentrantLock();
+    // tryAcquireAll calls that gave up after their timeout and were retried
+    private static final LongAdder TIMEOUTS = new LongAdder();
+
+    // Some work while both are held, so holding time is not trivially short
+    private static void use(Resource a, Resource b) {
+        for (int i = 0; i < 50; i++) {
+            a.uses++;
+            b.uses--;
+        }
+        a.uses -= 49;
+        b.uses += 51;
+    }
+
+    // Completed operations per second, or -1 if the threads deadlocked
+    private static long run(Operation operation, int threads, Resource[] resources, long millis) throws InterruptedException {
+        AtomicBoolean stop = new AtomicBoolean();
+        LongAdder done = new LongAdder();
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            workers[t] = new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                try {
+                    while (!stop.get()) {
+                        int a = random.nextInt(resources.length);
+                        int b = (a + 1 + random.nextInt(resources.length - 1)) % resources.length;
+                        operation.run(resources[a], resources[b]);
+                        done.increment();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            workers[t].setDaemon(true); // deadlocked workers are left behind
+        }
+        for (Thread worker : workers) {
+            worker.start();
+        }
+        Thread.sleep(millis);
+        stop.set(true);
+        for (Thread worker : workers) {
+            worker.join(1000);
+        }
+        // Only this run's workers count, earlier deadlocked runs are still stuck in the JVM
+        long[] stuck = ManagementFactory.getThreadMXBean().findDeadlockedThreads();
+        if (stuck != null) {
+            for (long id : stuck) {
+                for (Thread worker : workers) {
+                    if (worker.threadId() == id) {
+                        return -1;
+                    }
+                }
+            }
+        }
+        return done.sum() * 1000 / millis;
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        int maxThreads = args.length > 0 ? Integer.parseInt(args[0]) : Math.max(8, Runtime.getRuntime().availableProcessors() * 2);
+        int resourceCount = args.length > 1 ? Integer.parseInt(args[1]) : 8;
+        long millis = args.length > 2 ? Long.parseLong(args[2]) : 1000;
+
+        Operation nested = (a, b) -> {
+            synchronized (a) {
+                synchronized (b) {
+                    use(a, b);
+                }
+            }
+        };
+        Operation global = (a, b) -> {
+            GLOBAL.lock();
+            try {
+                use(a, b);
+            } finally {
+                GLOBAL.unlock();
+            }
+        };
+        Operation ordered = (a, b) -> {
+            // try/finally rather than try-with-resources, the body never refers to held
+            OrderedLocks.Held held = OrderedLocks.acquireAll(a.lock, b.lock);
+            try {
+                use(a, b);
+            } finally {
+                held.close();
+            }
+        };
+        Operation backOff = (a, b) -> {
+            while (true) {
+                try (OrderedLocks.Held held = OrderedLocks.tryAcquireAll(Duration.ofSeconds(1), a.lock, b.lock)) {
+                    if (held != null) {
+                        use(a, b);
+                        return;
+                    }
+                }
+                TIMEOUTS.increment(); // gave up after a second, count it and try again
+            }
+        };
+        String[] names = {"nested monitors", "global lock", "acquireAll", "tryAcquireAll"};
+        Operation[] operations = {nested, global, ordered, backOff};
+        boolean[] deadlocked = new boolean[operations.length];
+
+        System.out.printf("%d resources, ops/s%n%8s", resourceCount, "threads");
+        for (String name : names) {
+            System.out.printf(" %16s", name);
+        }
+        System.out.println();
+        for (int threads = 1; threads <= maxThreads; threads *= 2) {
+            System.out.printf("%8d", threads);
+            for (int i = 0; i < operations.length; i++) {
+                if (deadlocked[i]) {
+                    System.out.printf(" %16s", "-");
+                    continue;
+                }
+                // Fresh resources, a deadlocked run leaves its monitors held forever
+                Resource[] resources = new Resource[resourceCount];
+                for (int r = 0; r < resourceCount; r++) {
+                    resources[r] = new Resource();
+                }
+                long opsPerSecond = run(operations[i], threads, resources, millis);
+                deadlocked[i] = opsPerSecond < 0;
+                System.out.printf(" %16s", deadlocked[i] ? "DEADLOCK" : String.format("%,d", opsPerSecond));
+            }
+            System.out.println();
+        }
+        System.out.println("tryAcquireAll timeouts (retried): " + TIMEOUTS.sum());
+    }
+}
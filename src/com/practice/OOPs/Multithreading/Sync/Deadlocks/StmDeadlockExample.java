@@ -0,0 +1,101 @@
+package com.practice.OOPs.Multthreading.Sync.Deadlocks;
+
+import com.practice.OOPs.Multthreading.Sync.Stm.Ref;
+import com.practice.OOPs.Multthreading.Sync.Stm.Stm;
+
+/*
+DeadlockExample again, with Pen and Paper state in Refs instead of behind their monitors.
+
+Thread 1 uses pen then paper, Thread 2 paper then pen, exactly the order that deadlocks above.
+Each write is one atomic block: if the other thread committed in between, the block simply runs
+again. Nobody holds anything while waiting, so there is no circular wait and no hang.
+ */
+class StmPen {
+    final Ref<Integer> ink = new Ref<>(1_000_000);
+    final Ref<String> lastUser = new Ref<>("nobody");
+
+    void writeWithPenAndPaper(StmPaper paper) {
+        Stm.atomic(() -> {
+            ink.set(ink.get() - 1);
+            lastUser.set(Thread.currentThread().getName());
+            paper.finishWriting(); // joins this transaction
+        });
+    }
+
+    void finishWriting() {
+        Stm.atomic(() -> ink.set(ink.get() - 1));
+    }
+}
+
+class StmPaper {
+    final Ref<Integer> sheets = new Ref<>(1_000_000);
+    final Ref<String> lastUser = new Ref<>("nobody");
+
+    void writeWithPaperAndPen(StmPen pen) {
+        Stm.atomic(() -> {
+            sheets.set(sheets.get() - 1);
+            lastUser.set(Thread.currentThread().getName());
+            pen.finishWriting();
+        });
+    }
+
+    void finishWriting() {
+        Stm.atomic(() -> sheets.set(sheets.get() - 1));
+    }
+}
+
+public class StmDeadlockExample {
+
+    public static void main(String[] args) throws InterruptedException {
+        int rounds = 100_000;
+
+        // Same pen and paper, opposite order: conflicts, retries, but always finishes
+        StmPen pen = new StmPen();
+        StmPaper paper = new StmPaper();
+        Thread t1 = new Thread(() -> {
+            for (int i = 0; i < rounds; i++) {
+                pen.writeWithPenAndPaper(paper);
+            }
+        }, "Thread 1");
+        Thread t2 = new Thread(() -> {
+            for (int i = 0; i < rounds; i++) {
+                paper.writeWithPaperAndPen(pen);
+            }
+        }, "Thread 2");
+
+        long startTime = System.currentTimeMillis();
+        t1.start();
+        t2.start();
+        t1.join();
+        t2.join();
+        // Every round uses one unit of ink and one sheet, from whichever side it started
+        System.out.println("Shared pen/paper: " + (1_000_000 - pen.ink.get()) + " ink, " + (1_000_000 - paper.sheets.get())
+                + " sheets used (expected " + 2 * rounds + " each), " + Stm.commits() + " commits, " + Stm.conflicts()
+                + " retries, " + (System.currentTimeMillis() - startTime) + " ms");
+
+        // Separate desks don't share Refs, so they commit side by side without retrying
+        long conflictsBefore = Stm.conflicts();
+        int desks = 8;
+        Thread[] writers = new Thread[desks];
+        StmPen[] pens = new StmPen[desks];
+        for (int d = 0; d < desks; d++) {
+            StmPen deskPen = new StmPen();
+            StmPaper deskPaper = new StmPaper();
+            pens[d] = deskPen;
+            writers[d] = new Thread(() -> {
+                for (int i = 0; i < rounds; i++) {
+                    deskPen.writeWithPenAndPaper(deskPaper);
+                }
+            });
+        }
+        startTime = System.currentTimeMillis();
+        for (Thread writer : writers) {
+            writer.start();
+        }
+        for (Thread writer : writers) {
+            writer.join();
+        }
+        System.out.println(desks + " separate desks: " + (long) desks * rounds + " writes in "
+                + (System.currentTimeMillis() - startTime) + " ms, " + (Stm.conflicts() - conflictsBefore) + " retries");
+    }
+}
@@ -1,13 +1,14 @@
 package com.practice.OOPs.Multthreading.Sync.RentalLocks;
 import java.util.concurrent.TimeUnit;
-import  java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.Lock;
 
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 
 public class BankAccount {
 
     private int balance= 1000;
-    private  ReentrantLock lock= new ReentrantLock();
+    // Profiled so wait/hold times and timeouts show up in LockProfiler.global().report(...)
+    private final Lock lock = LockProfiler.global().newLock("BankAccount");
     //Issue is waiting one thread is wait for other
 
     public void withdraw(int amount)  {
@@ -1,10 +1,10 @@
 package com.practice.OOPs.Multthreading.Sync.RentalLocks;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.Lock;
 public class FarinessLock {
 
     //Add true will help to make sure fairness who OS picks first will run firsts
-    private final ReentrantLock lock = new ReentrantLock(true);
+    private final Lock lock = LockProfiler.global().newLock("FarinessLock", true);
     public void dummyFun(){
         try
         {
@@ -0,0 +1,152 @@
+package com.practice.OOPs.Multthreading.Sync.RentalLocks;
+
+import com.practice.OOPs.Multthreading.ExcuterFramework.LatencyHistogram;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+Registry of named, profiled locks. Ask it for locks instead of new ReentrantLock():
+
+    private final Lock lock = LockProfiler.global().newLock("BankAccount");
+
+Locks created with the same name share one Stats, so 10,000 BankAccount locks show up as one
+line. Any thread can call report() / topContended() at any time, e.g. from a scheduled task,
+which is how a hot lock shows up without attaching a profiler.
+
+synchronized blocks can't be wrapped, so runLocked() takes the monitor and the work instead:
+    profiler.runLocked(pen, "Pen", () -> ...);
+ */
+public class LockProfiler {
+
+    private static final LockProfiler GLOBAL = new LockProfiler();
+
+    private final ConcurrentHashMap<String, Stats> stats = new ConcurrentHashMap<>();
+
+    public static LockProfiler global() {
+        return GLOBAL;
+    }
+
+    public ProfiledLock newLock(String name) {
+        return newLock(name, false);
+    }
+
+    public ProfiledLock newLock(String name, boolean fair) {
+        return new ProfiledLock(fair, stats(name));
+    }
+
+    private Stats stats(String name) {
+        return stats.computeIfAbsent(name, Stats::new);
+    }
+
+    // Enters monitor the way synchronized(monitor) would, recording wait and (sampled) hold time
+    public void runLocked(Object monitor, String name, Runnable action) {
+        Stats lockStats = stats(name);
+        long start = System.nanoTime();
+        synchronized (monitor) {
+            long entered = System.nanoTime();
+            lockStats.acquisitions.increment();
+            // Below a microsecond is the cost of entering, not waiting for another thread
+            if (entered - start > 1_000) {
+                lockStats.contended.increment();
+                lockStats.waits.record(entered - start);
+            }
+            boolean sampled = ThreadLocalRandom.current().nextInt(ProfiledLock.HOLD_SAMPLE) == 0;
+            try {
+                action.run();
+            } finally {
+                if (sampled) {
+                    lockStats.holds.record(System.nanoTime() - entered);
+                }
+            }
+        }
+    }
+
+    // Locks ordered by total time threads spent waiting for them, worst first
+    public List<Stats> topContended(int limit) {
+        List<Stats> all = new ArrayList<>(stats.values());
+        all.sort(Comparator.comparingDouble(Stats::totalWaitNanos).reversed());
+        return all.subList(0, Math.min(limit, all.size()));
+    }
+
+    public String report(int limit) {
+        StringBuilder report = new StringBuilder(String.format("%-24s %12s %10s %9s %10s%n",
+                "lock", "acquisitions", "contended", "timeouts", "wait total"));
+        for (Stats lock : topContended(limit)) {
+            report.append(lock).append('\n');
+        }
+        return report.toString();
+    }
+
+    public void reset() {
+        stats.values().forEach(Stats::reset);
+    }
+
+    public static class Stats {
+        private final String name;
+        final LongAdder acquisitions = new LongAdder();
+        final LongAdder contended = new LongAdder();
+        final LongAdder timeouts = new LongAdder();
+        final LongAdder failedTries = new LongAdder();
+        // Contended acquires and timeouts only, uncontended ones waited zero
+        final LatencyHistogram waits = new LatencyHistogram();
+        // Sampled, one in ProfiledLock.HOLD_SAMPLE holds
+        final LatencyHistogram holds = new LatencyHistogram();
+
+        Stats(String name) {
+            this.name = name;
+        }
+
+        public String name() {
+            return name;
+        }
+
+        public long acquisitions() {
+            return acquisitions.sum();
+        }
+
+        public long contended() {
+            return contended.sum();
+        }
+
+        public long timeouts() {
+            return timeouts.sum();
+        }
+
+        public long failedTries() {
+            return failedTries.sum();
+        }
+
+        public LatencyHistogram.Snapshot waits() {
+            return waits.snapshot();
+        }
+
+        public LatencyHistogram.Snapshot holds() {
+            return holds.snapshot();
+        }
+
+        double totalWaitNanos() {
+            LatencyHistogram.Snapshot snapshot = waits.snapshot();
+            return snapshot.mean() * snapshot.count();
+        }
+
+        void reset() {
+            acquisitions.reset();
+            contended.reset();
+            timeouts.reset();
+            failedTries.reset();
+            waits.reset();
+            holds.reset();
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%-24s %12d %10d %9d %8.1fms%n  wait: %s%n  hold: %s", name, acquisitions(), contended(),
+                    timeouts(), totalWaitNanos() / 1e6, waits(), holds());
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.practice.OOPs.Multthreading.Sync.RentalLocks;
+
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+public class LockProfilerTestMain {
+
+    private static long shared;
+
+    public static void main(String[] args) throws InterruptedException {
+        LockProfiler profiler = LockProfiler.global();
+
+        // The TestMain scenario: withdraw() holds the lock for a second, the 1s tryLock of the others times out
+        BankAccount account = new BankAccount();
+        Thread[] customers = new Thread[3];
+        for (int i = 0; i < customers.length; i++) {
+            customers[i] = new Thread(() -> account.withdraw(100), "Customer " + (i + 1));
+            customers[i].start();
+        }
+
+        // A hot lock with short holds, a cold one nobody fights over, and a plain monitor
+        Lock hot = profiler.newLock("hot counter");
+        Lock cold = profiler.newLock("cold config");
+        Object monitor = new Object();
+        Thread[] workers = new Thread[8];
+        for (int t = 0; t < workers.length; t++) {
+            workers[t] = new Thread(() -> {
+                for (int i = 0; i < 200_000; i++) {
+                    hot.lock();
+                    try {
+                        shared++;
+                    } finally {
+                        hot.unlock();
+                    }
+                    if (i % 1000 == 0) {
+                        cold.lock();
+                        cold.unlock();
+                        profiler.runLocked(monitor, "monitor", () -> shared--);
+                    }
+                }
+            });
+            workers[t].start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        for (Thread customer : customers) {
+            customer.join();
+        }
+        System.out.println(profiler.report(5));
+
+        // Cost of leaving it on: uncontended lock/unlock pairs
+        ReentrantLock plain = new ReentrantLock();
+        Lock profiled = profiler.newLock("overhead test");
+        for (int round = 0; round < 3; round++) {
+            long plainNanos = time(plain);
+            long profiledNanos = time(profiled);
+            System.out.printf("Uncontended lock+unlock: ReentrantLock %.1f ns, ProfiledLock %.1f ns%n",
+                    plainNanos / 10_000_000.0, profiledNanos / 10_000_000.0);
+        }
+    }
+
+    private static long time(Lock lock) {
+        long start = System.nanoTime();
+        for (int i = 0; i < 10_000_000; i++) {
+            lock.lock();
+            try {
+                shared++;
+            } finally {
+                lock.unlock();
+            }
+        }
+        return System.nanoTime() - start;
+    }
+}
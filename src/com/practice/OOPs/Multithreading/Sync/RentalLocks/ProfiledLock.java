@@ -0,0 +1,209 @@
+package com.practice.OOPs.Multthreading.Sync.RentalLocks;
+
+import java.util.Date;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/*
+ReentrantLock that reports to a LockProfiler how long threads wait for it and how long they hold it.
+
+Kept cheap enough to leave on:
+  - every acquire first tries the lock without waiting; if that works the wait was zero and no
+    clock is read. Only contended acquires time their wait, and those are about to block anyway.
+  - hold time is measured on one in HOLD_SAMPLE outermost acquires (two nanoTime calls),
+    the histogram shape is the same, just with fewer samples.
+  - counters are LongAdders, so threads on different cores don't fight over them.
+Time spent in Condition.await() is not hold time: the lock is free for others while the holder
+waits, and they overwrite holdStart. Conditions from newCondition() set it aside and resume it.
+ */
+public class ProfiledLock implements Lock {
+
+    static final int HOLD_SAMPLE = 8;
+
+    private final ReentrantLock delegate;
+    private final LockProfiler.Stats stats;
+    private long holdStart; // set and read only by the owner, 0 = this hold is not sampled
+
+    ProfiledLock(boolean fair, LockProfiler.Stats stats) {
+        this.delegate = new ReentrantLock(fair);
+        this.stats = stats;
+    }
+
+    public String name() {
+        return stats.name();
+    }
+
+    // Fair locks must not barge past waiting threads, tryLock() would
+    private boolean tryWithoutWaiting() {
+        if (!delegate.isFair()) {
+            return delegate.tryLock();
+        }
+        try {
+            return delegate.tryLock(0, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    @Override
+    public void lock() {
+        if (tryWithoutWaiting()) {
+            acquired(0);
+            return;
+        }
+        long start = System.nanoTime();
+        delegate.lock();
+        acquired(System.nanoTime() - start);
+    }
+
+    @Override
+    public void lockInterruptibly() throws InterruptedException {
+        if (tryWithoutWaiting()) {
+            acquired(0);
+            return;
+        }
+        long start = System.nanoTime();
+        delegate.lockInterruptibly();
+        acquired(System.nanoTime() - start);
+    }
+
+    @Override
+    public boolean tryLock() {
+        if (delegate.tryLock()) {
+            acquired(0);
+            return true;
+        }
+        stats.failedTries.increment();
+        return false;
+    }
+
+    @Override
+    public boolean tryLock(long time, TimeUnit unit) throws InterruptedException {
+        if (tryWithoutWaiting()) {
+            acquired(0);
+            return true;
+        }
+        long start = System.nanoTime();
+        boolean locked = delegate.tryLock(time, unit);
+        long waited = System.nanoTime() - start;
+        if (locked) {
+            acquired(waited);
+        } else {
+            stats.timeouts.increment();
+            stats.waits.record(waited);
+        }
+        return locked;
+    }
+
+    private void acquired(long waitNanos) {
+        stats.acquisitions.increment();
+        if (waitNanos > 0) {
+            stats.contended.increment();
+            stats.waits.record(waitNanos);
+        }
+        if (delegate.getHoldCount() == 1) {
+            holdStart = ThreadLocalRandom.current().nextInt(HOLD_SAMPLE) == 0 ? System.nanoTime() : 0;
+        }
+    }
+
+    @Override
+    public void unlock() {
+        if (delegate.getHoldCount() == 1 && holdStart != 0) {
+            stats.holds.record(System.nanoTime() - holdStart);
+            holdStart = 0;
+        }
+        delegate.unlock();
+    }
+
+    @Override
+    public Condition newCondition() {
+        return new ProfiledCondition(delegate.newCondition());
+    }
+
+    // Hold time measured so far (0 = not sampled), taken before await() lets go of the lock
+    private long suspendHold() {
+        return holdStart == 0 ? 0 : Math.max(1, System.nanoTime() - holdStart);
+    }
+
+    // After await() got the lock back: continue the hold without the time spent waiting
+    private void resumeHold(long heldNanos) {
+        holdStart = heldNanos == 0 ? 0 : System.nanoTime() - heldNanos;
+    }
+
+    private final class ProfiledCondition implements Condition {
+        private final Condition condition;
+
+        ProfiledCondition(Condition condition) {
+            this.condition = condition;
+        }
+
+        @Override
+        public void await() throws InterruptedException {
+            long held = suspendHold();
+            try {
+                condition.await();
+            } finally {
+                resumeHold(held);
+            }
+        }
+
+        @Override
+        public void awaitUninterruptibly() {
+            long held = suspendHold();
+            try {
+                condition.awaitUninterruptibly();
+            } finally {
+                resumeHold(held);
+            }
+        }
+
+        @Override
+        public long awaitNanos(long nanosTimeout) throws InterruptedException {
+            long held = suspendHold();
+            try {
+                return condition.awaitNanos(nanosTimeout);
+            } finally {
+                resumeHold(held);
+            }
+        }
+
+        @Override
+        public boolean await(long time, TimeUnit unit) throws InterruptedException {
+            long held = suspendHold();
+            try {
+                return condition.await(time, unit);
+            } finally {
+                resumeHold(held);
+            }
+        }
+
+        @Override
+        public boolean awaitUntil(Date deadline) throws InterruptedException {
+            long held = suspendHold();
+            try {
+                return condition.awaitUntil(deadline);
+            } finally {
+                resumeHold(held);
+            }
+        }
+
+        @Override
+        public void signal() {
+            condition.signal();
+        }
+
+        @Override
+        public void signalAll() {
+            condition.signalAll();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ProfiledLock[" + stats.name() + ", " + delegate + "]";
+    }
+}
@@ -0,0 +1,63 @@
+package com.practice.OOPs.Multthreading.Sync.RentalLocks;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.IntSupplier;
+
+/*
+getCount()/incCount() mixes at 99/1, 90/10 and 50/50 reads/writes, 1..N threads:
+  ReadWriteLockExample -> ReentrantReadWriteLock, every read updates the shared reader count
+  StampedLockExample   -> optimistic read, validated, read lock only if a write got in between
+Usage: ReadWriteLockBenchmark [maxThreads] [opsPerThread]
+ */
+public class ReadWriteLockBenchmark {
+
+    private static double run(IntSupplier read, Runnable write, int readPercent, int threads, int perThread) throws InterruptedException {
+        Thread[] workers = new Thread[threads];
+        long[] sinks = new long[threads];
+        for (int t = 0; t < threads; t++) {
+            int index = t;
+            workers[t] = new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                long sink = 0;
+                for (int i = 0; i < perThread; i++) {
+                    if (random.nextInt(100) < readPercent) {
+                        sink += read.getAsInt();
+                    } else {
+                        write.run();
+                    }
+                }
+                sinks[index] = sink; // keeps the reads from being optimised away
+            });
+        }
+        long startTime = System.nanoTime();
+        for (Thread worker : workers) {
+            worker.start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        long elapsed = System.nanoTime() - startTime;
+        return (double) threads * perThread / elapsed * 1000; // million ops per second
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        int maxThreads = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors() * 2;
+        int perThread = args.length > 1 ? Integer.parseInt(args[1]) : 2_000_000;
+
+        for (int readPercent : new int[]{99, 90, 50}) {
+            System.out.printf("%d/%d reads/writes%n%8s %20s %20s%n", readPercent, 100 - readPercent,
+                    "threads", "ReadWriteLock", "StampedLock");
+            for (int threads = 1; threads <= Math.max(1, maxThreads); threads *= 2) {
+                double[] results = new double[2];
+                // Run once to warm up and once to measure
+                for (int round = 0; round < 2; round++) {
+                    ReadWriteLockExample readWrite = new ReadWriteLockExample();
+                    StampedLockExample stamped = new StampedLockExample();
+                    results[0] = run(readWrite::getCount, readWrite::incCount, readPercent, threads, perThread);
+                    results[1] = run(stamped::getCount, stamped::incCount, readPercent, threads, perThread);
+                }
+                System.out.printf("%8d %16.1f M/s %16.1f M/s%n", threads, results[0], results[1]);
+            }
+        }
+    }
+}
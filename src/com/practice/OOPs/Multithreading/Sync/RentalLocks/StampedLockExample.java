@@ -0,0 +1,65 @@
+package com.practice.OOPs.Multthreading.Sync.RentalLocks;
+import java.util.concurrent.locks.StampedLock;
+
+/*
+ReadWriteLockExample with a StampedLock.
+
+ReentrantReadWriteLock.readLock() is a write to the lock's shared state (the reader count), so
+readers on different cores still take turns on that one cache line, even with no writer around.
+An optimistic read writes nothing: take a stamp, read the fields, and check the stamp is still
+valid. If a writer got in between, the values may be torn, so read again under a real read lock.
+With few writes the fallback is rare and reads scale like plain field reads.
+
+StampedLock is not reentrant and has no Conditions, fine for short critical sections like these.
+ */
+public class StampedLockExample {
+
+    private final StampedLock myLock = new StampedLock();
+    private int count = 0;
+
+    public void incCount() {
+        long stamp = myLock.writeLock();
+        try { count += 1; }
+        finally { myLock.unlockWrite(stamp); }
+    }
+
+    public int getCount() {
+        long stamp = myLock.tryOptimisticRead();
+        int current = count;
+        if (myLock.validate(stamp)) {
+            return current;
+        }
+        // A write happened meanwhile, read again with readers blocking writers
+        stamp = myLock.readLock();
+        try { return count; }
+        finally { myLock.unlockRead(stamp); }
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+
+        StampedLockExample obj = new StampedLockExample();
+        Runnable writeTask = () -> {
+            for (int i = 0; i < 10; i++) {
+                obj.incCount();
+                System.out.println(Thread.currentThread().getName());
+            }
+        };
+        Runnable readTask = () -> {
+            for (int i = 0; i < 10; i++) {
+                System.out.println(Thread.currentThread().getName() + " :  count is: " + obj.getCount());
+            }
+        };
+
+        Thread t1 = new Thread(writeTask, "Thread 1 Write");
+        Thread t2 = new Thread(readTask, "Thread 2 Read");
+        Thread t3 = new Thread(readTask, "Thread 3 Read");
+        t1.start();
+        t2.start();
+        t3.start();
+        t1.join();
+        t2.join();
+        t3.join();
+
+        System.out.println("Final Count : " + obj.getCount());
+    }
+}
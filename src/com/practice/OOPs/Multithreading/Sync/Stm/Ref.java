@@ -0,0 +1,65 @@
+package com.practice.OOPs.Multthreading.Sync.Stm;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/*
+A shared variable that is only changed inside Stm.atomic blocks.
+
+The value and the version that wrote it live together in one immutable Box, so a single volatile
+read gives a matching pair. owner is the commit lock: set only while a committing transaction
+writes new boxes, and only with a CAS that never waits.
+ */
+public final class Ref<T> {
+
+    static final class Box {
+        final Object value;
+        final long version;
+
+        Box(Object value, long version) {
+            this.value = value;
+            this.version = version;
+        }
+    }
+
+    private static final AtomicLong IDS = new AtomicLong();
+
+    // Stable order for commit locking, see Transaction.commit
+    final long id = IDS.incrementAndGet();
+    volatile Box box;
+    final AtomicReference<Transaction> owner = new AtomicReference<>();
+
+    public Ref(T initial) {
+        this.box = new Box(initial, 0);
+    }
+
+    // Inside a transaction reads its snapshot, outside runs as a one-read transaction
+    @SuppressWarnings("unchecked")
+    public T get() {
+        Transaction tx = Transaction.current();
+        if (tx == null) {
+            return Stm.atomic(this::get);
+        }
+        return (T) tx.read(this);
+    }
+
+    public void set(T value) {
+        Transaction tx = Transaction.current();
+        if (tx == null) {
+            Stm.atomic(() -> set(value));
+            return;
+        }
+        tx.write(this, value);
+    }
+
+    public T getAndSet(T value) {
+        T old = get();
+        set(value);
+        return old;
+    }
+
+    @Override
+    public String toString() {
+        return "Ref" + id + "=" + box.value;
+    }
+}
@@ -0,0 +1,84 @@
+package com.practice.OOPs.Multthreading.Sync.Stm;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/*
+Software transactional memory: atomic blocks over Refs instead of locks over objects.
+
+    Stm.atomic(() -> {
+        pen.set(pen.get() - 1);
+        paper.set(paper.get() - 1);
+    });
+
+The block runs against a private copy of what it writes; at the end it either commits all its
+writes at once or, if another transaction changed something it read, throws them away and runs
+again. Nothing is locked while the block runs, so two blocks touching the same Refs in
+opposite orders can't deadlock, and blocks touching different Refs commit in parallel.
+
+Nested atomic calls join the outer transaction, so two atomic operations compose into one.
+
+The block may run more than once: no I/O or other side effects that can't be repeated inside
+it, and don't catch RuntimeException around Ref reads (a conflict is signalled with one).
+ */
+public final class Stm {
+
+    private static final LongAdder commits = new LongAdder();
+    private static final LongAdder conflicts = new LongAdder();
+
+    private Stm() {
+    }
+
+    public static <T> T atomic(Supplier<T> block) {
+        if (Transaction.current() != null) {
+            return block.get(); // part of the enclosing transaction
+        }
+        for (int attempt = 0; ; attempt++) {
+            Transaction tx = new Transaction();
+            Transaction.begin(tx);
+            try {
+                T result = block.get();
+                if (tx.commit()) {
+                    commits.increment();
+                    return result;
+                }
+            } catch (Transaction.Conflict conflict) {
+                // fall through to retry
+            } finally {
+                Transaction.end();
+            }
+            conflicts.increment();
+            backOff(attempt);
+        }
+    }
+
+    public static void atomic(Runnable block) {
+        atomic(() -> {
+            block.run();
+            return null;
+        });
+    }
+
+    // Random wait that doubles per failed attempt, so colliding transactions drift apart
+    private static void backOff(int attempt) {
+        int limit = 1 << Math.min(attempt, 16);
+        int spins = ThreadLocalRandom.current().nextInt(limit);
+        if (attempt < 10) {
+            for (int i = 0; i < spins; i++) {
+                Thread.onSpinWait();
+            }
+        } else {
+            LockSupport.parkNanos(spins * 100L);
+        }
+    }
+
+    public static long commits() {
+        return commits.sum();
+    }
+
+    public static long conflicts() {
+        return conflicts.sum();
+    }
+}
@@ -0,0 +1,112 @@
+package com.practice.OOPs.Multthreading.Sync.Stm;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+One attempt of an atomic block.
+
+readVersion is the global clock when the attempt started. Every read must come from a box no
+newer than that and not being committed right now, otherwise the attempt has seen a world that
+never existed and is thrown away. Writes stay private in writes until commit.
+ */
+final class Transaction {
+
+    // Thrown to abandon the attempt, Stm.atomic catches it and runs the block again
+    static final class Conflict extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        static final Conflict INSTANCE = new Conflict();
+
+        private Conflict() {
+            super("STM conflict", null, false, false);
+        }
+    }
+
+    private static final AtomicLong CLOCK = new AtomicLong();
+    private static final ThreadLocal<Transaction> CURRENT = new ThreadLocal<>();
+
+    private final long readVersion = CLOCK.get();
+    private final Map<Ref<?>, Ref.Box> reads = new IdentityHashMap<>();
+    private final Map<Ref<?>, Object> writes = new HashMap<>();
+
+    static Transaction current() {
+        return CURRENT.get();
+    }
+
+    static void begin(Transaction tx) {
+        CURRENT.set(tx);
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    Object read(Ref<?> ref) {
+        if (writes.containsKey(ref)) {
+            return writes.get(ref);
+        }
+        Ref.Box seen = reads.get(ref);
+        if (seen != null) {
+            return seen.value; // same answer every time within one attempt
+        }
+        // Lock first: a committer holds it for the whole time it installs boxes
+        if (ref.owner.get() != null) {
+            throw Conflict.INSTANCE;
+        }
+        Ref.Box box = ref.box;
+        if (box.version > readVersion) {
+            throw Conflict.INSTANCE; // changed after we started
+        }
+        reads.put(ref, box);
+        return box.value;
+    }
+
+    void write(Ref<?> ref, Object value) {
+        writes.put(ref, value);
+    }
+
+    /*
+    Lock the write set in Ref.id order with tryLock only: if a ref is taken, let go of everything
+    and retry, so no committer ever waits while holding a lock (no deadlock, no hang). Then take a
+    new version, check nothing read has changed since, install, unlock.
+    Read-only attempts have nothing to do: every read was already checked against readVersion.
+     */
+    boolean commit() {
+        if (writes.isEmpty()) {
+            return true;
+        }
+        List<Ref<?>> order = new ArrayList<>(writes.keySet());
+        order.sort(Comparator.comparingLong(ref -> ref.id));
+        int locked = 0;
+        try {
+            for (Ref<?> ref : order) {
+                if (!ref.owner.compareAndSet(null, this)) {
+                    return false;
+                }
+                locked++;
+            }
+            long writeVersion = CLOCK.incrementAndGet();
+            for (Map.Entry<Ref<?>, Ref.Box> read : reads.entrySet()) {
+                Ref<?> ref = read.getKey();
+                Transaction owner = ref.owner.get();
+                if (ref.box != read.getValue() || owner != null && owner != this) {
+                    return false;
+                }
+            }
+            for (Ref<?> ref : order) {
+                ref.box = new Ref.Box(writes.get(ref), writeVersion);
+            }
+            return true;
+        } finally {
+            for (int i = 0; i < locked; i++) {
+                order.get(i).owner.set(null);
+            }
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.practice.OOPs.Multthreading.Sync;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/*
+Drop-in for Counter (MyThread accepts it as-is) without the single monitor.
+
+Counter: every increment takes the same lock -> threads line up one at a time.
+StripedCounter: every thread adds into its own cell, getCount() adds the cells up.
+Two threads only collide if they hash to the same cell, and then one of them moves to another.
+
+Each cell is padded to its own 64 byte cache line. Without padding, neighbouring cells share a
+line and every write still bounces that line between cores (false sharing).
+Same idea as java.util.concurrent.atomic.LongAdder, written out to show how it works.
+ */
+public class StripedCounter extends Counter {
+
+    // Field layout puts superclass fields first, so the value is sandwiched between paddings
+    static class LeftPadding {
+        long p01, p02, p03, p04, p05, p06, p07;
+    }
+
+    static class CellValue extends LeftPadding {
+        volatile long value;
+    }
+
+    static final class Cell extends CellValue {
+        long p11, p12, p13, p14, p15, p16, p17;
+    }
+
+    private static final VarHandle VALUE;
+
+    static {
+        try {
+            VALUE = MethodHandles.lookup().findVarHandle(CellValue.class, "value", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final Cell[] cells;
+    private final int mask;
+
+    // Which cell this thread uses, moves on collision
+    private static final ThreadLocal<int[]> probe = ThreadLocal.withInitial(() ->
+            new int[]{mix((int) Thread.currentThread().threadId())});
+
+    public StripedCounter() {
+        this(Runtime.getRuntime().availableProcessors() * 2);
+    }
+
+    public StripedCounter(int stripes) {
+        int size = Integer.highestOneBit(Math.max(1, stripes - 1)) << 1; // next power of two
+        cells = new Cell[size];
+        for (int i = 0; i < size; i++) {
+            cells[i] = new Cell();
+        }
+        mask = size - 1;
+    }
+
+    @Override
+    public void increment() {
+        add(1);
+    }
+
+    public void add(long delta) {
+        int[] h = probe.get();
+        Cell cell = cells[h[0] & mask];
+        long current = cell.value;
+        if (!VALUE.compareAndSet(cell, current, current + delta)) {
+            // Someone else is on this cell: hop to another one for next time, then just finish the add
+            h[0] = mix(h[0] + 1);
+            VALUE.getAndAdd(cell, delta);
+        }
+    }
+
+    // Sum of all cells, exact once writers stop, a moving estimate while they run
+    public long sum() {
+        long sum = 0;
+        for (Cell cell : cells) {
+            sum += cell.value;
+        }
+        return sum;
+    }
+
+    @Override
+    public int getCount() {
+        return (int) sum();
+    }
+
+    public void reset() {
+        for (Cell cell : cells) {
+            cell.value = 0;
+        }
+    }
+
+    private static int mix(int x) {
+        x ^= x << 13;
+        x ^= x >>> 17;
+        x ^= x << 5;
+        return x;
+    }
+}
@@ -0,0 +1,168 @@
+package com.practice.OOPs.Multthreading.Sync.ThreadCommunication;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+Asynchronous boundary: upstream runs on its own thread, downstream gets items on 'executor'.
+Upstream is asked for 'prefetch' items up front and topped up after three quarters of them were
+delivered, so the queue in between never holds more than 'prefetch' items. A slow subscriber
+simply stops requesting, the queue fills, the top-ups stop and the producer goes idle.
+ */
+class AsyncProcessor<T> implements Flow.Processor<T, T>, Flow.Subscription, Runnable {
+
+    private final Executor executor;
+    private final int prefetch;
+    private final int limit;
+    private final ArrayBlockingQueue<T> queue;
+
+    private Flow.Subscriber<? super T> downstream;
+    private Flow.Subscription upstream;
+    private final AtomicLong requested = new AtomicLong();
+    private final AtomicInteger wip = new AtomicInteger();
+    private volatile boolean done;
+    private volatile boolean cancelled;
+    private volatile Throwable error;
+    // A request(n <= 0) from downstream; reported by the drain loop so signals never overlap (§1.3)
+    private volatile Throwable invalidRequest;
+    private int consumed; // drain thread only
+
+    AsyncProcessor(Executor executor, int prefetch) {
+        if (prefetch < 1) {
+            throw new IllegalArgumentException("prefetch must be positive: " + prefetch);
+        }
+        this.executor = executor;
+        this.prefetch = prefetch;
+        this.limit = prefetch - (prefetch >> 2);
+        this.queue = new ArrayBlockingQueue<>(prefetch);
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super T> subscriber) {
+        this.downstream = subscriber;
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        upstream = subscription;
+        downstream.onSubscribe(this);
+        subscription.request(prefetch);
+    }
+
+    @Override
+    public void onNext(T item) {
+        if (!queue.offer(item)) {
+            // Can only happen if upstream sent more than we asked for
+            upstream.cancel();
+            onError(new IllegalStateException("Upstream ignored backpressure"));
+            return;
+        }
+        schedule();
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        error = throwable;
+        done = true;
+        schedule();
+    }
+
+    @Override
+    public void onComplete() {
+        done = true;
+        schedule();
+    }
+
+    @Override
+    public void request(long n) {
+        if (n <= 0) {
+            invalidRequest = new IllegalArgumentException("request must be positive: " + n);
+            upstream.cancel();
+            schedule();
+            return;
+        }
+        requested.accumulateAndGet(n, (current, add) -> current + add < 0 ? Long.MAX_VALUE : current + add);
+        schedule();
+    }
+
+    @Override
+    public void cancel() {
+        cancelled = true;
+        upstream.cancel();
+    }
+
+    private void schedule() {
+        if (wip.getAndIncrement() == 0) {
+            executor.execute(this);
+        }
+    }
+
+    // Delivers as many queued items as downstream asked for, on the executor
+    @Override
+    public void run() {
+        int missed = 1;
+        while (true) {
+            if (stopped()) {
+                return;
+            }
+            long demand = requested.get();
+            long emitted = 0;
+            while (emitted != demand) {
+                if (stopped()) {
+                    return;
+                }
+                boolean finished = done;
+                T item = queue.poll();
+                if (item == null) {
+                    if (finished) {
+                        terminate();
+                        return;
+                    }
+                    break;
+                }
+                downstream.onNext(item);
+                emitted++;
+                if (++consumed == limit) {
+                    consumed = 0;
+                    upstream.request(limit);
+                }
+            }
+            if (emitted == demand && done && queue.isEmpty() && !cancelled) {
+                terminate();
+                return;
+            }
+            if (emitted != 0) {
+                requested.addAndGet(-emitted);
+            }
+            missed = wip.addAndGet(-missed);
+            if (missed == 0) {
+                return;
+            }
+        }
+    }
+
+    // True once nothing more may be delivered: cancelled, or an invalid request just reported
+    private boolean stopped() {
+        if (!cancelled && invalidRequest != null) {
+            cancelled = true;
+            downstream.onError(invalidRequest);
+        }
+        if (cancelled) {
+            queue.clear();
+            return true;
+        }
+        return false;
+    }
+
+    private void terminate() {
+        cancelled = true;
+        if (error != null) {
+            downstream.onError(error);
+        } else {
+            downstream.onComplete();
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.practice.OOPs.Multthreading.Sync.ThreadCommunication;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Flow;
+
+/*
+Groups items into lists of 'size'. A request for n lists becomes a request for n * size items,
+so demand flows upstream unchanged and nothing is buffered beyond the list being filled.
+The last list may be shorter when the source completes.
+ */
+class BufferProcessor<T> implements Flow.Processor<T, List<T>>, Flow.Subscription {
+
+    private final int size;
+    private Flow.Subscriber<? super List<T>> downstream;
+    private Flow.Subscription upstream;
+    private List<T> current;
+
+    BufferProcessor(int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("size must be positive: " + size);
+        }
+        this.size = size;
+    }
+
+    // Called before the upstream subscribe, see FlowPipeline
+    @Override
+    public void subscribe(Flow.Subscriber<? super List<T>> subscriber) {
+        this.downstream = subscriber;
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        upstream = subscription;
+        downstream.onSubscribe(this);
+    }
+
+    @Override
+    public void request(long n) {
+        if (n <= 0) {
+            upstream.cancel();
+            downstream.onError(new IllegalArgumentException("request must be positive: " + n));
+            return;
+        }
+        upstream.request(n > Long.MAX_VALUE / size ? Long.MAX_VALUE : n * size);
+    }
+
+    @Override
+    public void cancel() {
+        upstream.cancel();
+    }
+
+    @Override
+    public void onNext(T item) {
+        if (current == null) {
+            current = new ArrayList<>(size);
+        }
+        current.add(item);
+        if (current.size() == size) {
+            List<T> full = current;
+            current = null;
+            downstream.onNext(full);
+        }
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        current = null;
+        downstream.onError(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+        if (current != null) {
+            List<T> rest = current;
+            current = null;
+            downstream.onNext(rest);
+        }
+        downstream.onComplete();
+    }
+}
@@ -0,0 +1,302 @@
+package com.practice.OOPs.Multthreading.Sync.ThreadCommunication;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/*
+Go-style channel, safe for any number of senders and receivers.
+
+  new Channel<>(0)   unbuffered: send() waits until a receiver has taken the item (rendezvous)
+  new Channel<>(n)   buffered:   send() only waits while n items are queued
+  close()            no more sends; receivers drain what is left, then receive() returns null
+
+Uses ReentrantLock/Condition rather than synchronized/wait(): a virtual thread blocked on a
+Condition unmounts from its carrier, while one blocked inside synchronized pins the carrier.
+So thousands of stages can block on channels with only a handful of platform threads.
+null items are not allowed, null from receive() means "closed and empty".
+
+A Select waiting on this channel leaves an offer here (see Select.Offer). On an unbuffered
+channel the other side completes such an offer directly: a send hands its item to a waiting
+select-receive, a receive takes the item of a waiting select-send. That way two selects on
+opposite ends of an unbuffered channel meet, not only a select and a blocking call.
+close() fails select-sends still waiting here with ChannelClosedException, the same as a blocked
+send(); from then on no receive can take their items.
+ */
+public class Channel<E> {
+
+    // Results of the non-blocking helpers used by Select
+    static final Object NOT_READY = new Object();
+    static final Object CLOSED = new Object();
+    static final Object SENT = new Object();
+    static final Object LOST = new Object(); // the calling select was completed by someone else meanwhile
+
+    private final int capacity;
+    private final ArrayDeque<E> queue = new ArrayDeque<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+    private final Condition taken = lock.newCondition();
+    private final ArrayDeque<Select.Offer> sendOffers = new ArrayDeque<>();
+    private final ArrayDeque<Select.Offer> receiveOffers = new ArrayDeque<>();
+
+    private boolean closed;
+    private int waitingReceivers;
+    private long sentCount;
+    private long receivedCount;
+
+    public Channel() {
+        this(0);
+    }
+
+    public Channel(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("capacity must not be negative: " + capacity);
+        }
+        this.capacity = capacity;
+    }
+
+    // Throws ChannelClosedException if the channel is closed before the item could be delivered
+    public void send(E item) throws InterruptedException {
+        checkItem(item);
+        lock.lock();
+        try {
+            checkOpen();
+            if (capacity == 0 && match(receiveOffers, null, -1, item) != NOT_READY) {
+                return; // handed straight to a waiting select
+            }
+            // Unbuffered channels still park the item in the queue, one at a time
+            int limit = Math.max(1, capacity);
+            while (queue.size() >= limit && !closed) {
+                notFull.await();
+            }
+            checkOpen();
+            long ticket = enqueue(item);
+            if (capacity == 0) {
+                try {
+                    while (receivedCount < ticket && !closed) {
+                        taken.await();
+                    }
+                } finally {
+                    if (receivedCount < ticket) {
+                        // Interrupted or closed before anybody took it: take it back
+                        queue.pollLast();
+                        sentCount--;
+                        notFull.signal();
+                    }
+                }
+                if (receivedCount < ticket) {
+                    throw new ChannelClosedException("channel closed before the item was received");
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Returns null once the channel is closed and drained
+    @SuppressWarnings("unchecked")
+    public E receive() throws InterruptedException {
+        lock.lock();
+        try {
+            if (queue.isEmpty() && capacity == 0 && !closed) {
+                Object item = match(sendOffers, null, -1, null);
+                if (item != NOT_READY) {
+                    return (E) item;
+                }
+            }
+            waitingReceivers++;
+            wakeSelectors(); // an unbuffered select-send may now go through
+            try {
+                while (queue.isEmpty() && !closed) {
+                    notEmpty.await();
+                }
+            } finally {
+                waitingReceivers--;
+            }
+            return queue.isEmpty() ? null : dequeue();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void close() {
+        lock.lock();
+        try {
+            closed = true;
+            // Waiting select-sends fail; one claimed right now by its owner or a partner either
+            // fires elsewhere or looks again and hits checkOpen() in trySend
+            for (Select.Offer offer : sendOffers) {
+                if (offer.selection.claim(offer.index)) {
+                    offer.selection.complete(CLOSED);
+                }
+            }
+            sendOffers.clear();
+            notEmpty.signalAll();
+            notFull.signalAll();
+            taken.signalAll();
+            wakeSelectors();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean isClosed() {
+        lock.lock();
+        try {
+            return closed;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Non-blocking send for case index of a select: SENT, NOT_READY or LOST
+    Object trySend(E item, Select.Selection own, int index) {
+        checkItem(item);
+        lock.lock();
+        try {
+            checkOpen();
+            if (capacity > 0) {
+                if (queue.size() >= capacity) {
+                    return NOT_READY;
+                }
+                if (!own.claim(index)) {
+                    return LOST;
+                }
+                enqueue(item);
+                return SENT;
+            }
+            if (queue.isEmpty() && waitingReceivers > 0) {
+                // A blocking receive() is waiting and will take it
+                if (!own.claim(index)) {
+                    return LOST;
+                }
+                enqueue(item);
+                return SENT;
+            }
+            return match(receiveOffers, own, index, item);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Non-blocking receive for case index of a select: an item, CLOSED, NOT_READY or LOST
+    Object tryReceive(Select.Selection own, int index) {
+        lock.lock();
+        try {
+            if (!queue.isEmpty()) {
+                return own.claim(index) ? dequeue() : LOST;
+            }
+            if (capacity == 0 && !closed) {
+                Object item = match(sendOffers, own, index, null);
+                if (item != NOT_READY) {
+                    return item;
+                }
+            }
+            if (closed) {
+                return own.claim(index) ? CLOSED : LOST;
+            }
+            return NOT_READY;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /*
+    Completes the first live offer in offers (not one of own's). When sending, item goes to the
+    receiving select and SENT comes back; when receiving (item == null) the sender's item comes
+    back. own, if not null, is claimed first so the caller's select can't fire twice.
+    Returns NOT_READY if no offer could be completed, LOST if own was already taken.
+     */
+    private Object match(ArrayDeque<Select.Offer> offers, Select.Selection own, int index, Object item) {
+        Iterator<Select.Offer> it = offers.iterator();
+        while (it.hasNext()) {
+            Select.Offer offer = it.next();
+            if (offer.selection == own) {
+                continue;
+            }
+            if (!offer.selection.isOpen()) {
+                continue; // that select already fired or gave up, it removes its own offers
+            }
+            if (own != null && !own.claim(index)) {
+                return LOST;
+            }
+            if (offer.selection.claim(offer.index)) {
+                it.remove();
+                if (item != null) {
+                    offer.selection.complete(item);
+                    return SENT;
+                }
+                offer.selection.complete(null);
+                return offer.item;
+            }
+            // Beaten to it (timeout or another partner), give our claim back and look further.
+            // The offer stays: if it is dead its owner removes it, and it may not be dead yet
+            // when own's short-lived claim made another matcher skip it
+            if (own != null) {
+                own.release();
+            }
+        }
+        return NOT_READY;
+    }
+
+    // A select posts an offer before parking and removes it when it is done
+    void addOffer(Select.Offer offer) {
+        lock.lock();
+        try {
+            (offer.sending ? sendOffers : receiveOffers).add(offer);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void removeOffer(Select.Offer offer) {
+        lock.lock();
+        try {
+            (offer.sending ? sendOffers : receiveOffers).remove(offer);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private long enqueue(E item) {
+        queue.add(item);
+        notEmpty.signal();
+        wakeSelectors();
+        return ++sentCount;
+    }
+
+    private E dequeue() {
+        E item = queue.poll();
+        receivedCount++;
+        notFull.signal();
+        if (capacity == 0) {
+            taken.signalAll();
+        }
+        wakeSelectors();
+        return item;
+    }
+
+    // Every waiting select looks again
+    private void wakeSelectors() {
+        for (Select.Offer offer : sendOffers) {
+            offer.selection.wake();
+        }
+        for (Select.Offer offer : receiveOffers) {
+            offer.selection.wake();
+        }
+    }
+
+    private void checkOpen() {
+        if (closed) {
+            throw new ChannelClosedException("send on closed channel");
+        }
+    }
+
+    private static void checkItem(Object item) {
+        if (item == null) {
+            throw new NullPointerException("null items are not allowed");
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.practice.OOPs.Multthreading.Sync.ThreadCommunication;
+
+// Thrown when sending on a channel that was closed (Go panics in the same case)
+public class ChannelClosedException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public ChannelClosedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,141 @@
+package com.practice.OOPs.Multthreading.Sync.ThreadCommunication;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+Channels on virtual threads:
+1. a chain of 10,000 stages, each one a virtual thread passing values to the next (+1 per stage)
+2. fan-out to several workers and fan-in of their results
+3. select over two channels with a timeout
+4. a select-send meeting a select-receive on an unbuffered channel
+ */
+public class ChannelPipeline {
+
+    public static void main(String[] args) throws InterruptedException {
+        // 1. Long chain: 10k blocked stages cost a few MB, not 10k platform threads
+        int stages = 10_000;
+        int values = 1_000;
+        Channel<Integer> first = new Channel<>(16);
+        Channel<Integer> in = first;
+        for (int s = 0; s < stages; s++) {
+            Channel<Integer> from = in;
+            Channel<Integer> to = new Channel<>(16);
+            Thread.ofVirtual().start(() -> {
+                try {
+                    Integer value;
+                    while ((value = from.receive()) != null) {
+                        to.send(value + 1);
+                    }
+                    to.close(); // pass the close down the chain
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            in = to;
+        }
+        Channel<Integer> last = in;
+
+        long startTime = System.currentTimeMillis();
+        Thread.ofVirtual().start(() -> {
+            try {
+                for (int i = 0; i < values; i++) {
+                    first.send(i);
+                }
+                first.close();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        long sum = 0;
+        Integer value;
+        while ((value = last.receive()) != null) {
+            sum += value;
+        }
+        System.out.println(stages + " stages, " + values + " values, sum " + sum + " in "
+                + (System.currentTimeMillis() - startTime) + " ms");
+
+        // 2. Fan-out to 4 workers over an unbuffered channel, fan-in on a shared results channel
+        Channel<Integer> jobs = new Channel<>();
+        Channel<String> results = new Channel<>(8);
+        AtomicInteger running = new AtomicInteger(4);
+        for (int w = 1; w <= 4; w++) {
+            String name = "worker-" + w;
+            Thread.ofVirtual().start(() -> {
+                try {
+                    Integer job;
+                    while ((job = jobs.receive()) != null) {
+                        results.send(name + " squared " + job + " = " + job * job);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    if (running.decrementAndGet() == 0) {
+                        results.close(); // last worker out closes the fan-in channel
+                    }
+                }
+            });
+        }
+        Thread.ofVirtual().start(() -> {
+            try {
+                for (int i = 1; i <= 8; i++) {
+                    jobs.send(i);
+                }
+                jobs.close();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        String result;
+        while ((result = results.receive()) != null) {
+            System.out.println(result);
+        }
+
+        // 3. Select: whichever channel is ready first, or time out
+        Channel<String> fast = new Channel<>(1);
+        Channel<String> slow = new Channel<>(1);
+        Thread.ofVirtual().start(() -> {
+            try {
+                Thread.sleep(50);
+                fast.send("fast answer");
+                Thread.sleep(500);
+                slow.send("slow answer");
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        for (int i = 0; i < 3; i++) {
+            new Select()
+                    .onReceive(fast, msg -> System.out.println("select got " + msg))
+                    .onReceive(slow, msg -> System.out.println("select got " + msg))
+                    .timeout(Duration.ofMillis(200), () -> System.out.println("select timed out"))
+                    .run();
+        }
+
+        // 4. Both ends select on the same unbuffered channel; the receiver's offer is completed
+        // by the sender, neither needs a blocking call on the other side
+        Channel<Integer> handoff = new Channel<>(0);
+        Channel<Integer> unused = new Channel<>(0);
+        AtomicInteger received = new AtomicInteger();
+        Thread receiver = Thread.ofVirtual().start(() -> {
+            try {
+                for (int i = 0; i < 1_000; i++) {
+                    new Select()
+                            .onReceive(handoff, v -> received.incrementAndGet())
+                            .onReceive(unused, v -> System.out.println("unexpected " + v))
+                            .run();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        for (int i = 0; i < 1_000; i++) {
+            new Select()
+                    .onSend(handoff, i, () -> {})
+                    .timeout(Duration.ofSeconds(5), () -> System.out.println("select-send timed out"))
+                    .run();
+        }
+        receiver.join();
+        System.out.println("select to select: " + received.get() + " of 1000 handed over");
+    }
+}
@@ -0,0 +1,88 @@
+package com.practice.OOPs.Multthreading.Sync.ThreadCommunication;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntFunction;
+
+/*
+Producer side of the Flow pipeline. Unlike Producer, which pushes 10 items and blocks on the
+single slot, this one only creates an item when the subscriber has asked for it (request(n)).
+No demand -> no work, no queue and no blocked thread; emission resumes on the executor when
+the next request comes in.
+ */
+class DemandPublisher<T> implements Flow.Publisher<T> {
+
+    private final IntFunction<T> generator;
+    private final int count;
+    private final Executor executor;
+
+    DemandPublisher(IntFunction<T> generator, int count, Executor executor) {
+        this.generator = generator;
+        this.count = count;
+        this.executor = executor;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super T> subscriber) {
+        subscriber.onSubscribe(new DemandSubscription(subscriber));
+    }
+
+    private class DemandSubscription implements Flow.Subscription, Runnable {
+        private final Flow.Subscriber<? super T> subscriber;
+        private final AtomicLong requested = new AtomicLong();
+        // Work-in-progress counter: only the thread that moves it from 0 runs the emit loop
+        private final AtomicInteger wip = new AtomicInteger();
+        private volatile boolean cancelled;
+        // A request(n <= 0); reported by the emit loop so it can't overlap an onNext (§1.3)
+        private volatile Throwable invalidRequest;
+        private int index;
+
+        DemandSubscription(Flow.Subscriber<? super T> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                invalidRequest = new IllegalArgumentException("request must be positive: " + n);
+            } else {
+                requested.accumulateAndGet(n, (current, add) -> current + add < 0 ? Long.MAX_VALUE : current + add);
+            }
+            if (wip.getAndIncrement() == 0) {
+                executor.execute(this);
+            }
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+        }
+
+        @Override
+        public void run() {
+            int missed = 1;
+            do {
+                if (invalidRequest != null && !cancelled) {
+                    cancelled = true;
+                    subscriber.onError(invalidRequest);
+                    return;
+                }
+                long demand = requested.get();
+                long emitted = 0;
+                while (emitted < demand && index < count && !cancelled && invalidRequest == null) {
+                    subscriber.onNext(generator.apply(index++));
+                    emitted++;
+                }
+                if (index == count && !cancelled) {
+                    cancelled = true;
+                    subscriber.onComplete();
+                    return;
+                }
+                requested.addAndGet(-emitted);
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.practice.OOPs.Multthreading.Sync.ThreadCommunication;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+/*
+Producer / consumer with java.util.concurrent.Flow and demand-based backpressure.
+
+    FlowPipeline.range(i -> i, 1_000_000, executor)
+        .buffer(100)               // List<Integer> of 100
+        .async(executor, 16)       // hand over to another thread, at most 16 lists in between
+        .subscribe(slowSubscriber);
+
+Nothing happens until subscribe(). Operators are wired from the subscriber backwards, so every
+processor knows its downstream before its upstream calls onSubscribe.
+ */
+public class FlowPipeline<T> implements Flow.Publisher<T> {
+
+    private final Flow.Publisher<T> source;
+
+    private FlowPipeline(Flow.Publisher<T> source) {
+        this.source = source;
+    }
+
+    public static <T> FlowPipeline<T> from(Flow.Publisher<T> publisher) {
+        return new FlowPipeline<>(publisher);
+    }
+
+    public static <T> FlowPipeline<T> range(IntFunction<T> generator, int count, Executor executor) {
+        return new FlowPipeline<>(new DemandPublisher<>(generator, count, executor));
+    }
+
+    public FlowPipeline<List<T>> buffer(int size) {
+        return through(() -> new BufferProcessor<>(size));
+    }
+
+    public FlowPipeline<List<T>> window(int size, int step) {
+        return through(() -> new WindowProcessor<>(size, step));
+    }
+
+    public FlowPipeline<T> async(Executor executor, int prefetch) {
+        return through(() -> new AsyncProcessor<>(executor, prefetch));
+    }
+
+    // A fresh processor per subscriber, subscribed downstream first and upstream second
+    private <R> FlowPipeline<R> through(Supplier<Flow.Processor<T, R>> factory) {
+        return new FlowPipeline<>(subscriber -> {
+            Flow.Processor<T, R> processor = factory.get();
+            processor.subscribe(subscriber);
+            source.subscribe(processor);
+        });
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super T> subscriber) {
+        source.subscribe(subscriber);
+    }
+
+    // Consumer that asks for one item at a time and takes 'delayMs' to handle each
+    static class SlowSubscriber<T> implements Flow.Subscriber<T> {
+        private final long delayMs;
+        private final CountDownLatch finished = new CountDownLatch(1);
+        private Flow.Subscription subscription;
+        private long received;
+
+        SlowSubscriber(long delayMs) {
+            this.delayMs = delayMs;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(1);
+        }
+
+        @Override
+        public void onNext(T item) {
+            received++;
+            try {
+                Thread.sleep(delayMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            subscription.request(1);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            System.out.println("Failed: " + throwable);
+            finished.countDown();
+        }
+
+        @Override
+        public void onComplete() {
+            finished.countDown();
+        }
+
+        void cancel() {
+            subscription.cancel();
+            finished.countDown();
+        }
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        AtomicLong produced = new AtomicLong();
+
+        // A fast source of a million items and a consumer handling one list per millisecond
+        SlowSubscriber<List<Integer>> consumer = new SlowSubscriber<>(1);
+        range(i -> {
+            produced.incrementAndGet();
+            return i;
+        }, 1_000_000, executor)
+                .buffer(100)
+                .async(executor, 16)
+                .subscribe(consumer);
+
+        for (int i = 0; i < 5; i++) {
+            Thread.sleep(200);
+            // produced stays within (consumed + 16 prefetched lists) * 100 items
+            System.out.println("consumed lists: " + consumer.received + ", produced items: " + produced.get());
+        }
+        consumer.cancel();
+
+        // Sliding window of 5 over 1..12 -> moving averages
+        CountDownLatch done = new CountDownLatch(1);
+        range(i -> i + 1, 12, executor).window(5, 1).subscribe(new Flow.Subscriber<>() {
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                subscription.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(List<Integer> window) {
+                System.out.println(window + " avg " + window.stream().mapToInt(Integer::intValue).average().orElse(0));
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                System.out.println("Failed: " + throwable);
+                done.countDown();
+            }
+
+            @Override
+            public void onComplete() {
+                done.countDown();
+            }
+        });
+        done.await();
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,95 @@
+package com.practice.OOPs.Multthreading.Sync.ThreadCommunication;
+
+/*
+Same producer / consumer roles as ThreadCommunication, but through SpscRingBuffer:
+many items in flight, batches instead of one item per hand-off, and no lock on the way.
+When the buffer is full/empty the threads just yield and try again.
+ */
+class RingProducer implements Runnable {
+    private final SpscRingBuffer<Integer> buffer;
+    private final int items;
+    private final int batchSize;
+
+    public RingProducer(SpscRingBuffer<Integer> buffer, int items, int batchSize) {
+        this.buffer = buffer;
+        this.items = items;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void run() {
+        Integer[] batch = new Integer[batchSize];
+        int produced = 0;
+        while (produced < items) {
+            int n = Math.min(batchSize, items - produced);
+            for (int i = 0; i < n; i++) {
+                batch[i] = (produced + i) & 1023; // small values so the consumer's sum is easy to check
+            }
+            int sent = 0;
+            while (sent < n) {
+                int published = buffer.offerBatch(batch, sent, n - sent);
+                if (published == 0) {
+                    Thread.yield(); // full, give the consumer the CPU
+                }
+                sent += published;
+            }
+            produced += n;
+        }
+    }
+}
+
+class RingConsumer implements Runnable {
+    private final SpscRingBuffer<Integer> buffer;
+    private final int items;
+    private final int batchSize;
+    private long sum;
+
+    public RingConsumer(SpscRingBuffer<Integer> buffer, int items, int batchSize) {
+        this.buffer = buffer;
+        this.items = items;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void run() {
+        int consumed = 0;
+        while (consumed < items) {
+            int n = buffer.drain(value -> sum += value, batchSize);
+            if (n == 0) {
+                Thread.yield(); // empty, give the producer the CPU
+            }
+            consumed += n;
+        }
+    }
+
+    public long getSum() {
+        return sum;
+    }
+}
+
+public class RingBufferCommunication {
+    public static void main(String[] args) throws InterruptedException {
+        int items = args.length > 0 ? Integer.parseInt(args[0]) : 50_000_000;
+
+        for (int round = 1; round <= 3; round++) {
+            SpscRingBuffer<Integer> buffer = new SpscRingBuffer<>(64 * 1024);
+            RingConsumer consumer = new RingConsumer(buffer, items, 256);
+            Thread producerThread = new Thread(new RingProducer(buffer, items, 256));
+            Thread consumerThread = new Thread(consumer);
+
+            long startTime = System.nanoTime();
+            producerThread.start();
+            consumerThread.start();
+            producerThread.join();
+            consumerThread.join();
+            long elapsed = System.nanoTime() - startTime;
+
+            long expected = 0;
+            for (int i = 0; i < items; i++) {
+                expected += i & 1023;
+            }
+            System.out.printf("Round %d: %,d items in %d ms = %,.0f items/s, sum ok: %b%n", round, items,
+                    elapsed / 1_000_000, items * 1_000_000_000.0 / elapsed, consumer.getSum() == expected);
+        }
+    }
+}
@@ -0,0 +1,253 @@
+package com.practice.OOPs.Multthreading.Sync.ThreadCommunication;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/*
+Go's select: wait until one of several channel operations can go ahead and run only that one.
+
+    new Select()
+        .onReceive(orders, order -> handle(order))   // order is null if 'orders' got closed
+        .onSend(audit, "tick", () -> {})
+        .timeout(Duration.ofSeconds(1), () -> System.out.println("idle"))
+        .run();
+
+Ready cases are tried from a random starting point, so one busy channel can't starve the others.
+While nothing is ready the select leaves an Offer on every channel and parks. Any send, receive
+or close on those channels unparks it to look again, and on an unbuffered channel the other
+side (a blocking call or another select) can complete the offer directly.
+
+Exactly one case may fire. A Selection holds the winning case index, -1 while open; the select
+itself, a partner completing one of its offers, and the timeout all claim it with one CAS.
+ */
+public class Select {
+
+    private static final int OPEN = -1;
+    private static final int CANCELLED = -2;
+
+    // One run() of a select, shared by all the offers it posts
+    static final class Selection {
+        private final Thread thread;
+        private final AtomicInteger winner = new AtomicInteger(OPEN);
+        private volatile boolean delivered;
+        private Object received; // written before delivered
+        private boolean released;  // owner thread only
+
+        Selection(Thread thread) {
+            this.thread = thread;
+        }
+
+        boolean isOpen() {
+            return winner.get() == OPEN;
+        }
+
+        boolean claim(int index) {
+            return winner.compareAndSet(OPEN, index);
+        }
+
+        // Only right after a successful claim, when the partner offer turned out to be gone.
+        // Meanwhile another select may have skipped our offer as taken, so the owner looks again
+        // instead of parking (see run)
+        void release() {
+            winner.set(OPEN);
+            released = true;
+        }
+
+        // Called by the partner after claiming case index for us
+        void complete(Object item) {
+            received = item;
+            delivered = true;
+            LockSupport.unpark(thread);
+        }
+
+        void wake() {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    // A parked select's standing request on one channel; item is set for sends
+    static final class Offer {
+        final Selection selection;
+        final int index;
+        final boolean sending;
+        final Object item;
+
+        Offer(Selection selection, int index, boolean sending, Object item) {
+            this.selection = selection;
+            this.index = index;
+            this.sending = sending;
+            this.item = item;
+        }
+    }
+
+    private interface Case {
+        // Channel.SENT / an item / Channel.CLOSED when it fired, Channel.NOT_READY or Channel.LOST otherwise
+        Object tryFire(Selection selection, int index);
+
+        Offer offer(Selection selection, int index);
+
+        // Runs the action after a partner completed this case's offer
+        void completed(Object received);
+
+        Channel<?> channel();
+    }
+
+    private final List<Case> cases = new ArrayList<>();
+    private long timeoutNanos = -1;
+    private Runnable onTimeout;
+
+    public <E> Select onReceive(Channel<E> channel, Consumer<? super E> action) {
+        cases.add(new Case() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public Object tryFire(Selection selection, int index) {
+                Object result = channel.tryReceive(selection, index);
+                if (result != Channel.NOT_READY && result != Channel.LOST) {
+                    action.accept(result == Channel.CLOSED ? null : (E) result);
+                }
+                return result;
+            }
+
+            @Override
+            public Offer offer(Selection selection, int index) {
+                return new Offer(selection, index, false, null);
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public void completed(Object received) {
+                action.accept((E) received);
+            }
+
+            @Override
+            public Channel<?> channel() {
+                return channel;
+            }
+        });
+        return this;
+    }
+
+    public <E> Select onSend(Channel<E> channel, E item, Runnable action) {
+        cases.add(new Case() {
+            @Override
+            public Object tryFire(Selection selection, int index) {
+                Object result = channel.trySend(item, selection, index);
+                if (result == Channel.SENT) {
+                    action.run();
+                }
+                return result;
+            }
+
+            @Override
+            public Offer offer(Selection selection, int index) {
+                return new Offer(selection, index, true, item);
+            }
+
+            @Override
+            public void completed(Object received) {
+                if (received == Channel.CLOSED) {
+                    throw new ChannelClosedException("channel closed before the item was received");
+                }
+                action.run();
+            }
+
+            @Override
+            public Channel<?> channel() {
+                return channel;
+            }
+        });
+        return this;
+    }
+
+    public Select timeout(Duration timeout, Runnable action) {
+        this.timeoutNanos = timeout.toNanos();
+        this.onTimeout = action;
+        return this;
+    }
+
+    // Blocks until one case ran; returns its index in the order the cases were added, -1 for timeout
+    public int run() throws InterruptedException {
+        if (cases.isEmpty()) {
+            throw new IllegalStateException("select with no cases would block forever");
+        }
+        Selection selection = new Selection(Thread.currentThread());
+        long deadline = timeoutNanos >= 0 ? System.nanoTime() + timeoutNanos : 0;
+        List<Offer> offers = null;
+        boolean interrupted = false;
+        try {
+            while (true) {
+                if (!selection.isOpen()) {
+                    // A partner completed one of our offers, wait for its hand-off to finish
+                    while (!selection.delivered) {
+                        LockSupport.park(this);
+                    }
+                    int index = selection.winner.get();
+                    cases.get(index).completed(selection.received);
+                    return index;
+                }
+
+                int start = ThreadLocalRandom.current().nextInt(cases.size());
+                boolean lost = false;
+                for (int i = 0; i < cases.size() && !lost; i++) {
+                    int index = (start + i) % cases.size();
+                    Object result = cases.get(index).tryFire(selection, index);
+                    if (result == Channel.LOST) {
+                        lost = true;
+                    } else if (result != Channel.NOT_READY) {
+                        return index;
+                    }
+                }
+                if (lost || selection.released) {
+                    selection.released = false;
+                    continue;
+                }
+
+                if (offers == null) {
+                    // Post offers, then check once more: a change between the check and the park
+                    // leaves an unpark permit, so the park below returns straight away
+                    offers = new ArrayList<>(cases.size());
+                    for (int i = 0; i < cases.size(); i++) {
+                        Offer offer = cases.get(i).offer(selection, i);
+                        cases.get(i).channel().addOffer(offer);
+                        offers.add(offer);
+                    }
+                    continue;
+                }
+                if (Thread.interrupted()) {
+                    if (selection.winner.compareAndSet(OPEN, CANCELLED)) {
+                        throw new InterruptedException();
+                    }
+                    interrupted = true; // matched just now, finish the case and keep the flag
+                    continue;
+                }
+                if (timeoutNanos >= 0) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        if (selection.winner.compareAndSet(OPEN, CANCELLED)) {
+                            onTimeout.run();
+                            return -1;
+                        }
+                        continue;
+                    }
+                    LockSupport.parkNanos(this, remaining);
+                } else {
+                    LockSupport.park(this);
+                }
+            }
+        } finally {
+            if (offers != null) {
+                for (int i = 0; i < offers.size(); i++) {
+                    cases.get(i).channel().removeOffer(offers.get(i));
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.practice.OOPs.Multthreading.Sync.ThreadCommunication;
+
+import com.practice.OOPs.Multithreading.VolitileAndAtomic.PaddedAtomicLong;
+
+import java.util.function.Consumer;
+
+// Like PaddedAtomicLong: superclass fields come first, so each cached counter gets its own cache line
+abstract class SpscProducerPadding {
+    long p01, p02, p03, p04, p05, p06, p07;
+}
+
+abstract class SpscProducerFields extends SpscProducerPadding {
+    // Producer side only
+    long cachedHead;
+}
+
+abstract class SpscConsumerPadding extends SpscProducerFields {
+    long p11, p12, p13, p14, p15, p16, p17;
+}
+
+abstract class SpscConsumerFields extends SpscConsumerPadding {
+    // Consumer side only
+    long cachedTail;
+}
+
+abstract class SpscRightPadding extends SpscConsumerFields {
+    long p21, p22, p23, p24, p25, p26, p27;
+}
+
+/*
+Bounded single-producer / single-consumer queue, no locks and no wait()/notify().
+
+SharedResource holds one item and every hand-off is a wait()/notify() pair, i.e. a context
+switch per item. Here the producer and consumer each own one counter:
+  tail = how many items the producer has published   (only the producer writes it)
+  head = how many items the consumer has taken        (only the consumer writes it)
+Slot for sequence s is s & mask. The producer writes the slot, then publishes tail with a release
+store, so a consumer that sees the new tail also sees the item. Nobody ever CASes.
+
+Each side also keeps a plain cached copy of the other side's counter and only re-reads the shared
+one when the cache says full/empty, which keeps the cache lines from bouncing on every item.
+The cached copies are padded too, or the producer writing cachedHead would keep invalidating the
+consumer's cachedTail on the same line.
+Exactly ONE producer thread and ONE consumer thread, otherwise items get lost.
+ */
+public class SpscRingBuffer<E> extends SpscRightPadding {
+
+    private final Object[] buffer;
+    private final int mask;
+
+    private final PaddedAtomicLong tail = new PaddedAtomicLong();
+    private final PaddedAtomicLong head = new PaddedAtomicLong();
+
+    public SpscRingBuffer(int capacity) {
+        if (capacity < 1 || capacity > (1 << 30)) {
+            throw new IllegalArgumentException("capacity must be in [1, 2^30]: " + capacity);
+        }
+        int size = 1;
+        while (size < capacity) { // round up to a power of two so s & mask replaces s % capacity
+            size <<= 1;
+        }
+        buffer = new Object[size];
+        mask = size - 1;
+    }
+
+    public int capacity() {
+        return buffer.length;
+    }
+
+    // Producer: false if full
+    public boolean offer(E item) {
+        if (item == null) {
+            throw new NullPointerException("null items are not allowed");
+        }
+        long t = tail.get();
+        if (t - cachedHead >= buffer.length) {
+            cachedHead = head.get();
+            if (t - cachedHead >= buffer.length) {
+                return false;
+            }
+        }
+        buffer[(int) t & mask] = item;
+        tail.lazySet(t + 1);
+        return true;
+    }
+
+    // Producer: publishes as many of items[from, from + count) as fit with a single tail update
+    public int offerBatch(E[] items, int from, int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("count must not be negative: " + count);
+        }
+        long t = tail.get();
+        long free = buffer.length - (t - cachedHead);
+        if (free < count) {
+            cachedHead = head.get();
+            free = buffer.length - (t - cachedHead);
+        }
+        int n = (int) Math.min(free, count);
+        for (int i = 0; i < n; i++) {
+            E item = items[from + i];
+            if (item == null) {
+                throw new NullPointerException("null items are not allowed");
+            }
+            buffer[(int) (t + i) & mask] = item;
+        }
+        if (n > 0) {
+            tail.lazySet(t + n);
+        }
+        return n;
+    }
+
+    // Consumer: null if empty
+    @SuppressWarnings("unchecked")
+    public E poll() {
+        long h = head.get();
+        if (h >= cachedTail) {
+            cachedTail = tail.get();
+            if (h >= cachedTail) {
+                return null;
+            }
+        }
+        int index = (int) h & mask;
+        E item = (E) buffer[index];
+        buffer[index] = null; // let the item be garbage collected
+        head.lazySet(h + 1);
+        return item;
+    }
+
+    /*
+    Consumer: hands up to limit items to the handler, then frees all their slots with one head update.
+    A slot is cleared only after the handler returns; if it throws, the items before are freed and
+    the one it failed on stays at the head for the next poll()/drain().
+     */
+    @SuppressWarnings("unchecked")
+    public int drain(Consumer<? super E> handler, int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("limit must not be negative: " + limit);
+        }
+        long h = head.get();
+        long available = cachedTail - h;
+        if (available < limit) {
+            cachedTail = tail.get();
+            available = cachedTail - h;
+        }
+        int n = (int) Math.min(available, limit);
+        int done = 0;
+        try {
+            while (done < n) {
+                int index = (int) (h + done) & mask;
+                handler.accept((E) buffer[index]);
+                buffer[index] = null;
+                done++;
+            }
+        } finally {
+            if (done > 0) {
+                head.lazySet(h + done);
+            }
+        }
+        return n;
+    }
+
+    // Approximate when called while the other side is running
+    public int size() {
+        return (int) Math.max(0, tail.get() - head.get());
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+}
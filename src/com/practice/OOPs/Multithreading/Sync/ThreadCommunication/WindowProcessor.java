@@ -0,0 +1,84 @@
+package com.practice.OOPs.Multthreading.Sync.ThreadCommunication;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Flow;
+
+/*
+Sliding windows: every 'step' items, emits the last 'size' items (step == size gives tumbling
+windows). The first window needs 'size' items and every later one 'step' more, so a request
+for n windows asks upstream for (size - step) once plus n * step.
+ */
+class WindowProcessor<T> implements Flow.Processor<T, List<T>>, Flow.Subscription {
+
+    private final int size;
+    private final int step;
+    private final ArrayDeque<T> window;
+    private Flow.Subscriber<? super List<T>> downstream;
+    private Flow.Subscription upstream;
+    private boolean firstRequest = true;
+    private long seen;
+
+    WindowProcessor(int size, int step) {
+        if (step < 1 || size < step) {
+            throw new IllegalArgumentException("Need 1 <= step <= size, got size=" + size + ", step=" + step);
+        }
+        this.size = size;
+        this.step = step;
+        this.window = new ArrayDeque<>(size);
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super List<T>> subscriber) {
+        this.downstream = subscriber;
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        upstream = subscription;
+        downstream.onSubscribe(this);
+    }
+
+    @Override
+    public synchronized void request(long n) {
+        if (n <= 0) {
+            upstream.cancel();
+            downstream.onError(new IllegalArgumentException("request must be positive: " + n));
+            return;
+        }
+        long items = n > Long.MAX_VALUE / step ? Long.MAX_VALUE : n * step;
+        if (firstRequest) {
+            firstRequest = false;
+            items = Math.min(Long.MAX_VALUE - (size - step), items) + (size - step);
+        }
+        upstream.request(items);
+    }
+
+    @Override
+    public void cancel() {
+        upstream.cancel();
+    }
+
+    @Override
+    public void onNext(T item) {
+        window.addLast(item);
+        if (window.size() > size) {
+            window.removeFirst();
+        }
+        seen++;
+        if (seen >= size && (seen - size) % step == 0) {
+            downstream.onNext(new ArrayList<>(window));
+        }
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        downstream.onError(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+        downstream.onComplete();
+    }
+}
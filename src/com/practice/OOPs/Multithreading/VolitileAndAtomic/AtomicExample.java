@@ -4,7 +4,7 @@ import java.util.concurrent.atomic.AtomicInteger;
 
 public class AtomicExample {
 
-      static class AtomicClass{
+      public static class AtomicClass{
 
          // private volatile int cnt=0;
          // both shared it creates an exclusive lock
@@ -0,0 +1,72 @@
+package com.practice.OOPs.Multithreading.VolitileAndAtomic;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/*
+Every thread increments only its own shard, so there is no real sharing at all.
+Any slowdown as threads are added comes from shards sharing a cache line.
+Run on a multi-core machine, e.g. with taskset -c 0-7, to see the gap.
+Usage: FalseSharingBenchmark [threads] [incrementsPerThread]
+ */
+public class FalseSharingBenchmark {
+
+    interface Shards {
+        void increment(int shard);
+    }
+
+    private static long run(Shards shards, int threads, int perThread) throws InterruptedException {
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            int shard = t;
+            workers[t] = new Thread(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    shards.increment(shard);
+                }
+            });
+        }
+        long startTime = System.nanoTime();
+        for (Thread worker : workers) {
+            worker.start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        return (System.nanoTime() - startTime) / 1_000_000;
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+        int perThread = args.length > 1 ? Integer.parseInt(args[1]) : 50_000_000;
+
+        for (int round = 1; round <= 2; round++) { // round 1 is warm up
+            // Each kind in its own loop: the plain counters are allocated back to back, so they end up
+            // next to each other on the heap with nothing in between
+            AtomicExample.AtomicClass[] plain = new AtomicExample.AtomicClass[threads];
+            for (int i = 0; i < threads; i++) {
+                plain[i] = new AtomicExample.AtomicClass();
+            }
+            PaddedAtomicLong[] padded = new PaddedAtomicLong[threads];
+            for (int i = 0; i < threads; i++) {
+                padded[i] = new PaddedAtomicLong();
+            }
+            PaddedAtomicInteger[] paddedInts = new PaddedAtomicInteger[threads];
+            for (int i = 0; i < threads; i++) {
+                paddedInts[i] = new PaddedAtomicInteger();
+            }
+            AtomicLongArray packed = new AtomicLongArray(threads);
+            ShardedAtomicLongArray sharded = new ShardedAtomicLongArray(threads);
+
+            System.out.println("Round " + round + ", " + threads + " threads x " + perThread + " increments");
+            System.out.println("  AtomicClass per shard:  " + run(shard -> plain[shard].inc(), threads, perThread) + " ms");
+            System.out.println("  AtomicLongArray:        " + run(packed::incrementAndGet, threads, perThread) + " ms");
+            System.out.println("  PaddedAtomicLong:       " + run(shard -> padded[shard].incrementAndGet(), threads, perThread) + " ms");
+            System.out.println("  ShardedAtomicLongArray: " + run(sharded::incrementAndGet, threads, perThread) + " ms");
+            System.out.println("  PaddedAtomicInteger:    " + run(shard -> paddedInts[shard].incrementAndGet(), threads, perThread) + " ms");
+            for (PaddedAtomicInteger counter : paddedInts) {
+                if (counter.get() != perThread) {
+                    throw new IllegalStateException("Lost increments: " + counter.get());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.practice.OOPs.Multithreading.VolitileAndAtomic;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+abstract class IntLeftPadding {
+    long p01, p02, p03, p04, p05, p06, p07;
+}
+
+abstract class IntValue extends IntLeftPadding {
+    volatile int value;
+}
+
+abstract class IntRightPadding extends IntValue {
+    long p11, p12, p13, p14, p15, p16, p17;
+}
+
+// int version of PaddedAtomicLong, e.g. one per shard for counters that stay below 2^31
+public class PaddedAtomicInteger extends IntRightPadding {
+
+    private static final VarHandle VALUE;
+
+    static {
+        try {
+            VALUE = MethodHandles.lookup().findVarHandle(IntValue.class, "value", int.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    public PaddedAtomicInteger() {
+    }
+
+    public PaddedAtomicInteger(int initialValue) {
+        value = initialValue;
+    }
+
+    public int get() {
+        return value;
+    }
+
+    public void set(int newValue) {
+        value = newValue;
+    }
+
+    // Cheaper store without the full fence, for single-writer sequences (see main)
+    public void lazySet(int newValue) {
+        VALUE.setRelease(this, newValue);
+    }
+
+    public boolean compareAndSet(int expected, int newValue) {
+        return VALUE.compareAndSet(this, expected, newValue);
+    }
+
+    public int getAndAdd(int delta) {
+        return (int) VALUE.getAndAdd(this, delta);
+    }
+
+    public int addAndGet(int delta) {
+        return (int) VALUE.getAndAdd(this, delta) + delta;
+    }
+
+    public int incrementAndGet() {
+        return addAndGet(1);
+    }
+
+    @Override
+    public String toString() {
+        return Integer.toString(value);
+    }
+
+    /*
+    Where lazySet matters: one writer fills slots, then publishes how many are ready. The release
+    store orders the slot writes before the count, which is all a reader needs; a volatile set()
+    also adds a full fence after every publish, which the writer pays for and the reader doesn't need.
+     */
+    public static void main(String[] args) throws InterruptedException {
+        int items = 20_000_000;
+        for (int round = 0; round < 3; round++) {
+            System.out.printf("set(): %4d ms, lazySet(): %4d ms%n", publish(items, false), publish(items, true));
+        }
+    }
+
+    private static long publish(int items, boolean lazy) throws InterruptedException {
+        int[] slots = new int[items];
+        PaddedAtomicInteger published = new PaddedAtomicInteger();
+        Thread reader = new Thread(() -> {
+            int seen = 0;
+            while (seen < items) {
+                int ready = published.get();
+                for (; seen < ready; seen++) {
+                    if (slots[seen] != seen + 1) {
+                        throw new IllegalStateException("Slot " + seen + " read before it was written");
+                    }
+                }
+            }
+        });
+        reader.start();
+        long startTime = System.nanoTime();
+        for (int i = 0; i < items; i++) {
+            slots[i] = i + 1;
+            if (lazy) {
+                published.lazySet(i + 1);
+            } else {
+                published.set(i + 1);
+            }
+        }
+        long elapsed = System.nanoTime() - startTime;
+        reader.join();
+        return elapsed / 1_000_000;
+    }
+}
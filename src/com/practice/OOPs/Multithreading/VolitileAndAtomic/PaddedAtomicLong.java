@@ -0,0 +1,80 @@
+package com.practice.OOPs.Multithreading.VolitileAndAtomic;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+// The JVM lays out superclass fields first, so: left padding, value, right padding
+abstract class LongLeftPadding {
+    long p01, p02, p03, p04, p05, p06, p07;
+}
+
+abstract class LongValue extends LongLeftPadding {
+    volatile long value;
+}
+
+abstract class LongRightPadding extends LongValue {
+    long p11, p12, p13, p14, p15, p16, p17;
+}
+
+/*
+AtomicLong that owns a whole cache line.
+
+Several AtomicLongs created one after another usually sit next to each other in memory.
+A core writing one of them invalidates the line for every core using its neighbours, so
+independent counters slow each other down (false sharing). Padding on both sides keeps the
+value alone on its 64 byte line.
+The JDK's @Contended does the same but needs -XX:-RestrictContended, padding fields don't.
+ */
+public class PaddedAtomicLong extends LongRightPadding {
+
+    private static final VarHandle VALUE;
+
+    static {
+        try {
+            VALUE = MethodHandles.lookup().findVarHandle(LongValue.class, "value", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    public PaddedAtomicLong() {
+    }
+
+    public PaddedAtomicLong(long initialValue) {
+        value = initialValue;
+    }
+
+    public long get() {
+        return value;
+    }
+
+    public void set(long newValue) {
+        value = newValue;
+    }
+
+    // Cheaper store without the full fence, for single-writer sequences
+    public void lazySet(long newValue) {
+        VALUE.setRelease(this, newValue);
+    }
+
+    public boolean compareAndSet(long expected, long newValue) {
+        return VALUE.compareAndSet(this, expected, newValue);
+    }
+
+    public long getAndAdd(long delta) {
+        return (long) VALUE.getAndAdd(this, delta);
+    }
+
+    public long addAndGet(long delta) {
+        return (long) VALUE.getAndAdd(this, delta) + delta;
+    }
+
+    public long incrementAndGet() {
+        return addAndGet(1);
+    }
+
+    @Override
+    public String toString() {
+        return Long.toString(value);
+    }
+}
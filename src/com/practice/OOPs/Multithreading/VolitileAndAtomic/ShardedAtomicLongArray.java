@@ -0,0 +1,75 @@
+package com.practice.OOPs.Multithreading.VolitileAndAtomic;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/*
+Array of atomic longs where every slot sits on its own cache line.
+
+AtomicLongArray packs 8 longs into each 64 byte line, so shard 0 and shard 1 fight over the
+same line even though no thread ever touches both. Here slot i lives at index (i + 1) * STRIDE
+of a bigger array. STRIDE is 16 longs = 128 bytes, because Intel's adjacent-line prefetcher
+pulls lines in pairs; the +1 keeps slot 0 away from the array header.
+Costs 128 bytes per slot, so use it for a few hot shards, not for big data.
+ */
+public class ShardedAtomicLongArray {
+
+    private static final int STRIDE = 16;
+
+    private final AtomicLongArray array;
+    private final int length;
+
+    public ShardedAtomicLongArray(int length) {
+        if (length < 0) {
+            throw new IllegalArgumentException("length must not be negative: " + length);
+        }
+        this.length = length;
+        this.array = new AtomicLongArray((length + 2) * STRIDE);
+    }
+
+    private static int offset(int i) {
+        return (i + 1) * STRIDE;
+    }
+
+    private void checkIndex(int i) {
+        if (i < 0 || i >= length) {
+            throw new IndexOutOfBoundsException("index " + i + " out of bounds for length " + length);
+        }
+    }
+
+    public int length() {
+        return length;
+    }
+
+    public long get(int i) {
+        checkIndex(i);
+        return array.get(offset(i));
+    }
+
+    public void set(int i, long newValue) {
+        checkIndex(i);
+        array.set(offset(i), newValue);
+    }
+
+    public boolean compareAndSet(int i, long expected, long newValue) {
+        checkIndex(i);
+        return array.compareAndSet(offset(i), expected, newValue);
+    }
+
+    public long addAndGet(int i, long delta) {
+        checkIndex(i);
+        return array.addAndGet(offset(i), delta);
+    }
+
+    public long incrementAndGet(int i) {
+        return addAndGet(i, 1);
+    }
+
+    // Not a snapshot, slots are read one by one
+    public long sum() {
+        long sum = 0;
+        for (int i = 0; i < length; i++) {
+            sum += array.get(offset(i));
+        }
+        return sum;
+    }
+}
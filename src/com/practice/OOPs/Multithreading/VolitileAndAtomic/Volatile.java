@@ -8,15 +8,29 @@ public class Volatile {
         // Volatile its flag, which tell do not create copy
         private   volatile boolean flag= false;
 
+        // How the reader waits for the flag, busy spin by default (same as the old empty while loop)
+        private final WaitStrategy waitStrategy;
+
+        public SharedObject(){
+            this(WaitStrategy.busySpin());
+        }
+
+        public SharedObject(WaitStrategy waitStrategy){
+            this.waitStrategy= waitStrategy;
+        }
+
         public void setFlagTrue(){
             flag= true;
+            waitStrategy.signalAll(); // wake up readers that parked, no-op for spinning strategies
             System.out.println("Flag is set to TRUE");
         }
 
         public String getFlagStatus(){
-           while(!flag){
-               //do nothing
-           }
+            try{
+                waitStrategy.waitFor(() -> flag);
+            }catch (InterruptedException ex){
+                Thread.currentThread().interrupt();
+            }
             return  "Flag status is  "+flag +" ";
         }
 
@@ -25,7 +39,8 @@ public class Volatile {
 
     public static void main(String[] args) {
 
-        SharedObject obj= new SharedObject();
+        // Try WaitStrategy.parking() or adaptive(): the reader no longer burns a core for that second
+        SharedObject obj= new SharedObject(WaitStrategy.adaptive());
 
         Thread writerThread = new Thread(()->{
             try{
@@ -0,0 +1,136 @@
+package com.practice.OOPs.Multithreading.VolitileAndAtomic;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+
+/*
+How a thread waits for a condition that another thread will make true (e.g. a volatile flag).
+
+  busySpin()  -> lowest wake-up latency, burns a whole core the entire time
+  yielding()  -> spins a little, then Thread.yield(): lets other threads run, still ~100% CPU if idle
+  parking()   -> sleeps in the OS until signalAll(), no CPU while waiting, microseconds to wake up
+  adaptive()  -> spins, then yields, then parks: fast if the wait is short, cheap if it is long
+
+The signalling side always sets its state first, then calls signalAll(). That only costs
+something for strategies that actually parked a thread.
+ */
+public interface WaitStrategy {
+
+    void waitFor(BooleanSupplier condition) throws InterruptedException;
+
+    void signalAll();
+
+    static WaitStrategy busySpin() {
+        return new BusySpin();
+    }
+
+    static WaitStrategy yielding() {
+        return new Yielding(100);
+    }
+
+    static WaitStrategy parking() {
+        return new Adaptive(0, 0);
+    }
+
+    static WaitStrategy adaptive() {
+        return new Adaptive(1_000, 100);
+    }
+
+    final class BusySpin implements WaitStrategy {
+        @Override
+        public void waitFor(BooleanSupplier condition) throws InterruptedException {
+            while (!condition.getAsBoolean()) {
+                Thread.onSpinWait(); // PAUSE on x86: saves power and helps the other hyper-thread
+                if (Thread.interrupted()) {
+                    throw new InterruptedException();
+                }
+            }
+        }
+
+        @Override
+        public void signalAll() {
+            // spinners see the state change themselves
+        }
+    }
+
+    final class Yielding implements WaitStrategy {
+        private final int spinTries;
+
+        Yielding(int spinTries) {
+            this.spinTries = spinTries;
+        }
+
+        @Override
+        public void waitFor(BooleanSupplier condition) throws InterruptedException {
+            int counter = spinTries;
+            while (!condition.getAsBoolean()) {
+                if (counter > 0) {
+                    counter--;
+                    Thread.onSpinWait();
+                } else {
+                    Thread.yield();
+                }
+                if (Thread.interrupted()) {
+                    throw new InterruptedException();
+                }
+            }
+        }
+
+        @Override
+        public void signalAll() {
+        }
+    }
+
+    // Spin, then yield, then park. With 0 spins and 0 yields it is a plain parking strategy
+    final class Adaptive implements WaitStrategy {
+        private final int spinTries;
+        private final int yieldTries;
+        private final ConcurrentLinkedQueue<Thread> parked = new ConcurrentLinkedQueue<>();
+
+        Adaptive(int spinTries, int yieldTries) {
+            this.spinTries = spinTries;
+            this.yieldTries = yieldTries;
+        }
+
+        @Override
+        public void waitFor(BooleanSupplier condition) throws InterruptedException {
+            for (int i = 0; i < spinTries; i++) {
+                if (condition.getAsBoolean()) {
+                    return;
+                }
+                Thread.onSpinWait();
+            }
+            for (int i = 0; i < yieldTries; i++) {
+                if (condition.getAsBoolean()) {
+                    return;
+                }
+                Thread.yield();
+            }
+
+            Thread current = Thread.currentThread();
+            // Register before the last check: a signal after it leaves an unpark permit, so park returns
+            parked.add(current);
+            try {
+                while (!condition.getAsBoolean()) {
+                    LockSupport.park(this);
+                    if (Thread.interrupted()) {
+                        throw new InterruptedException();
+                    }
+                }
+            } finally {
+                parked.remove(current);
+            }
+        }
+
+        @Override
+        public void signalAll() {
+            if (parked.isEmpty()) {
+                return; // common case when waits are short: nobody got as far as parking
+            }
+            for (Thread thread : parked) {
+                LockSupport.unpark(thread);
+            }
+        }
+    }
+}
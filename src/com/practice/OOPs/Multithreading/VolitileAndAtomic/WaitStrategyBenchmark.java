@@ -0,0 +1,55 @@
+package com.practice.OOPs.Multithreading.VolitileAndAtomic;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/*
+For each WaitStrategy: a reader waits for a volatile flag that a writer sets after a pause.
+Prints the wake-up latency (flag set -> reader running) and the CPU the reader burned waiting.
+Usage: WaitStrategyBenchmark [pauseMs] [rounds]
+ */
+public class WaitStrategyBenchmark {
+
+    private static volatile boolean flag;
+    private static volatile long setAt;
+
+    private static void measure(String name, WaitStrategy strategy, long pauseMs, int rounds) throws InterruptedException {
+        ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        long totalLatency = 0;
+        long totalCpu = 0;
+        for (int round = 0; round < rounds; round++) {
+            flag = false;
+            long[] result = new long[2];
+            Thread reader = new Thread(() -> {
+                long cpuStart = threadMXBean.getCurrentThreadCpuTime();
+                try {
+                    strategy.waitFor(() -> flag);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                result[0] = System.nanoTime() - setAt;
+                result[1] = threadMXBean.getCurrentThreadCpuTime() - cpuStart;
+            });
+            reader.start();
+            Thread.sleep(pauseMs);
+            setAt = System.nanoTime();
+            flag = true;
+            strategy.signalAll();
+            reader.join();
+            totalLatency += result[0];
+            totalCpu += result[1];
+        }
+        System.out.printf("%-10s wake-up %,8d ns   reader CPU %,6d ms per %d ms wait%n",
+                name, totalLatency / rounds, totalCpu / rounds / 1_000_000, pauseMs);
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        long pauseMs = args.length > 0 ? Long.parseLong(args[0]) : 200;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+
+        measure("busySpin", WaitStrategy.busySpin(), pauseMs, rounds);
+        measure("yielding", WaitStrategy.yielding(), pauseMs, rounds);
+        measure("parking", WaitStrategy.parking(), pauseMs, rounds);
+        measure("adaptive", WaitStrategy.adaptive(), pauseMs, rounds);
+    }
+}